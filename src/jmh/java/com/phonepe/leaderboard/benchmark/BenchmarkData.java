@@ -0,0 +1,66 @@
+package com.phonepe.leaderboard.benchmark;
+
+import com.phonepe.leaderboard.LeaderboardManagementServiceApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Starts the application without a web server against an in-memory H2 database, and populates leaderboards directly
+ * through JDBC so that large boards can be set up in seconds.
+ */
+final class BenchmarkData {
+
+    static final String GAME_ID = "benchmark-game";
+    static final long SEED = 42L;
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+
+    private BenchmarkData() {
+    }
+
+    static ConfigurableApplicationContext startApplication(String database) {
+        return new SpringApplicationBuilder(LeaderboardManagementServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN"
+                )
+                .run();
+    }
+
+    static String playerId(int i) {
+        return "player-" + i;
+    }
+
+    static String createLeaderboard(JdbcTemplate jdbcTemplate, int entries) {
+        String leaderboardId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        jdbcTemplate.update(
+                "insert into leaderboard (id, game_id, start_time, end_time) values (?, ?, ?, ?)",
+                leaderboardId, GAME_ID, now - 60_000, now + 365L * 24 * 60 * 60 * 1000
+        );
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < entries; i++) {
+            batch.add(new Object[]{UUID.randomUUID().toString(), leaderboardId, playerId(i), random.nextInt(1_000_000_000)});
+            if (batch.size() == INSERT_BATCH_SIZE || i == entries - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into leaderboard_entries (id, leaderboard_id, player_id, score, version) values (?, ?, ?, ?, 1)",
+                        batch
+                );
+                batch.clear();
+            }
+        }
+        return leaderboardId;
+    }
+
+}
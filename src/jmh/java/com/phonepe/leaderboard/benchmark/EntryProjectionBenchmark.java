@@ -0,0 +1,77 @@
+package com.phonepe.leaderboard.benchmark;
+
+import com.phonepe.leaderboard.data.model.LeaderboardEntry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.repository.LeaderboardEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same top-N query read as managed {@link LeaderboardEntry} entities and as the {@link RankedEntry} projection
+ * the repository uses. Both run in a transaction, where every entity row also costs a lazy Leaderboard proxy and a
+ * dirty-checking snapshot; the {@code gc} profiler's allocation per operation shows the difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntryProjectionBenchmark {
+
+    private static final String ENTITY_TOP_N_JPQL = """
+        select e
+        from LeaderboardEntry e
+        where e.leaderboard.id = :leaderboardId
+        order by e.score desc, e.playerId asc
+    """;
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    @Param({"10", "1000"})
+    public int limit;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionOperations transactionOperations;
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+    private String leaderboardId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication("projection");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionOperations = context.getBean(TransactionTemplate.class);
+        leaderboardEntryRepository = context.getBean(LeaderboardEntryRepository.class);
+        leaderboardId = BenchmarkData.createLeaderboard(context.getBean(JdbcTemplate.class), entries);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<LeaderboardEntry> entityTopNPlayers() {
+        return transactionOperations.execute(status -> entityManager
+                .createQuery(ENTITY_TOP_N_JPQL, LeaderboardEntry.class)
+                .setParameter("leaderboardId", leaderboardId)
+                .setMaxResults(limit)
+                .getResultList());
+    }
+
+    @Benchmark
+    public List<RankedEntry> projectionTopNPlayers() {
+        return transactionOperations.execute(status ->
+                leaderboardEntryRepository.findTopNPlayers(leaderboardId, PageRequest.of(0, limit)));
+    }
+
+}
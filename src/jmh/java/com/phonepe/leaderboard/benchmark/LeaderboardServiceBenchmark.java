@@ -0,0 +1,135 @@
+package com.phonepe.leaderboard.benchmark;
+
+import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.service.LeaderboardService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service hot paths against a populated in-memory H2 instance, through {@link LeaderboardService} and its in-memory
+ * rank index. {@link RankQueryBenchmark} runs the same reads as plain queries.
+ * <p>
+ * Reads, full listings and writes each get their own state and leaderboard: submissions never change the board the
+ * reads measure, and the full listing, which builds a response holding every entry, only runs on boards it can hold.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LeaderboardServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ReadState {
+
+        @Param({"1000", "100000", "10000000"})
+        public int entries;
+
+        private Board board;
+        private String probePlayerId;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            board = Board.start("service-reads", entries);
+            probePlayerId = BenchmarkData.playerId(entries / 2);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            board.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class ListingState {
+
+        @Param({"1000", "100000"})
+        public int listingEntries;
+
+        private Board board;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            board = Board.start("service-listing", listingEntries);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            board.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class WriteState {
+
+        @Param({"1000", "100000", "10000000"})
+        public int writeEntries;
+
+        private Board board;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            board = Board.start("service-writes", writeEntries);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            board.close();
+        }
+
+    }
+
+    @Benchmark
+    public ScoreSubmissionResponse serviceSubmitScore(WriteState state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return state.board.leaderboardService().submitScore(
+                BenchmarkData.GAME_ID,
+                BenchmarkData.playerId(random.nextInt(state.writeEntries)),
+                random.nextInt(1_000_000_000)
+        );
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryResponse> serviceGetTopNPlayers(ReadState state) {
+        return state.board.leaderboardService().getTopNPlayers(state.board.leaderboardId(), 10);
+    }
+
+    @Benchmark
+    public byte[] serviceGetTopNPlayersJson(ReadState state) {
+        return state.board.leaderboardService().getTopNPlayersJson(state.board.leaderboardId(), 10);
+    }
+
+    @Benchmark
+    public List<LeaderboardEntryResponse> serviceGetNextNPlayers(ReadState state) {
+        return state.board.leaderboardService().getNextNPlayers(state.board.leaderboardId(), state.probePlayerId, 10);
+    }
+
+    @Benchmark
+    public GetLeaderboardResponse serviceGetLeaderboard(ListingState state) {
+        return state.board.leaderboardService().getLeaderboard(state.board.leaderboardId());
+    }
+
+    // an application of its own per state, with one populated leaderboard and its rank index
+    private record Board(ConfigurableApplicationContext context, LeaderboardService leaderboardService, String leaderboardId) {
+
+        static Board start(String database, int entries) {
+            ConfigurableApplicationContext context = BenchmarkData.startApplication(database);
+            String leaderboardId = BenchmarkData.createLeaderboard(context.getBean(JdbcTemplate.class), entries);
+            context.getBean(RankIndexRegistry.class).rebuild();
+            return new Board(context, context.getBean(LeaderboardService.class), leaderboardId);
+        }
+
+        void close() {
+            context.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.phonepe.leaderboard.benchmark;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.ShardedRankIndex;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import com.phonepe.leaderboard.ranking.TopKRankIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory rank index operations, without Spring or the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankIndexBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    public int entries;
+
+    @Param({"SKIP_LIST", "SHARDED"})
+    public String engine;
+
+    private TopKRankIndex rankIndex;
+    private RankedEntry probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rankIndex = new TopKRankIndex(engine.equals("SHARDED")
+                ? new ShardedRankIndex(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1))
+                : new SkipListRankIndex(), 100);
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        for (int i = 0; i < entries; i++) {
+            rankIndex.offer(BenchmarkData.playerId(i), random.nextInt(1_000_000_000));
+        }
+        probe = rankIndex.top(entries / 2 + 1).get(entries / 2);
+    }
+
+    @Benchmark
+    public boolean offer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return rankIndex.offer(BenchmarkData.playerId(random.nextInt(entries)), random.nextInt(1_000_000_000));
+    }
+
+    // writes for distinct players from every core, the case lock striping is meant to scale
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean offerConcurrently() {
+        return offer();
+    }
+
+    @Benchmark
+    public List<RankedEntry> top10() {
+        return rankIndex.top(10);
+    }
+
+    @Benchmark
+    public byte[] top10Json() {
+        return rankIndex.topJson(10).orElseThrow();
+    }
+
+    @Benchmark
+    public List<RankedEntry> next10() {
+        return rankIndex.after(probe.score(), probe.playerId(), 10);
+    }
+
+    @Benchmark
+    public List<RankedEntry> prev10() {
+        return rankIndex.before(probe.score(), probe.playerId(), 10);
+    }
+
+    @Benchmark
+    public int rank() {
+        return rankIndex.countAbove(probe.score(), probe.playerId());
+    }
+
+}
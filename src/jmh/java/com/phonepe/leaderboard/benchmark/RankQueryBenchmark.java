@@ -0,0 +1,76 @@
+package com.phonepe.leaderboard.benchmark;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.repository.LeaderboardEntryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ranked repository queries as plain queries, with and without idx_leaderboard_entries_rank. Without it the
+ * database falls back to the unique (leaderboard_id, player_id) constraint and sorts every entry of the leaderboard
+ * on each read, hence the smaller boards than the other benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RankQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    @Param({"true", "false"})
+    public boolean rankIndex;
+
+    private ConfigurableApplicationContext context;
+    private LeaderboardEntryRepository leaderboardEntryRepository;
+    private String leaderboardId;
+    private RankedEntry probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication("rank-query");
+        leaderboardEntryRepository = context.getBean(LeaderboardEntryRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!rankIndex) {
+            // only Flyway and the ranked queries know about the index, neither checks for it after startup
+            jdbcTemplate.execute("drop index idx_leaderboard_entries_rank");
+        }
+        leaderboardId = BenchmarkData.createLeaderboard(jdbcTemplate, entries);
+
+        probe = leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, BenchmarkData.playerId(entries / 2))
+                .orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RankedEntry> findTopNPlayers() {
+        return leaderboardEntryRepository.findTopNPlayers(leaderboardId, PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public List<RankedEntry> findNextNPlayers() {
+        return leaderboardEntryRepository.findNextNPlayers(leaderboardId, probe.score(), probe.playerId(), PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public List<RankedEntry> findPrevNPlayers() {
+        return leaderboardEntryRepository.findPrevNPlayers(leaderboardId, probe.score(), probe.playerId(), PageRequest.of(0, 10));
+    }
+
+    @Benchmark
+    public Optional<RankedEntry> findByPlayer() {
+        return leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, probe.playerId());
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.phonepe.leaderboard.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-lived, mostly idle HTTP/1.1 keep-alive connections, the kind an edge gateway holds towards the service. Each
+ * connection sends a small read at a fixed interval so that neither side times it out; those requests are not
+ * part of the measured latencies.
+ * <p>
+ * Uses plain sockets: the JDK HTTP client pools connections and would not keep a given number of them open.
+ */
+class IdleConnections implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean closed;
+
+    private IdleConnections() {
+    }
+
+    static IdleConnections open(String baseUrl, String path, int count, Duration interval) throws InterruptedException {
+        IdleConnections connections = new IdleConnections();
+        URI uri = URI.create(baseUrl);
+        for (int i = 0; i < count; i++) {
+            connections.executor.submit(() -> connections.hold(uri, path, interval));
+        }
+        // connections are opened concurrently, wait until they are all up or given up on
+        while (connections.open.get() + connections.failed.get() < count) {
+            Thread.sleep(100);
+        }
+        return connections;
+    }
+
+    int open() {
+        return open.get();
+    }
+
+    int failed() {
+        return failed.get();
+    }
+
+    private void hold(URI uri, String path, Duration interval) {
+        int port = uri.getPort() == -1 ? 80 : uri.getPort();
+        byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: " + uri.getHost() + ":" + port + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        try (Socket socket = new Socket(uri.getHost(), port)) {
+            OutputStream out = socket.getOutputStream();
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            exchange(out, in, request);
+            open.incrementAndGet();
+            try {
+                // spread the periodic requests instead of sending them all at once
+                Thread.sleep(ThreadLocalRandom.current().nextLong(interval.toMillis() + 1));
+                while (!closed) {
+                    exchange(out, in, request);
+                    Thread.sleep(interval.toMillis());
+                }
+            } finally {
+                open.decrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void exchange(OutputStream out, InputStream in, byte[] request) throws IOException {
+        out.write(request);
+        out.flush();
+        String statusLine = readLine(in);
+        if (!statusLine.startsWith("HTTP/1.1 2")) {
+            throw new IOException("Unexpected response: " + statusLine);
+        }
+        long contentLength = -1;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                contentLength = Long.parseLong(header.substring(15).trim());
+            }
+        }
+        if (contentLength < 0) {
+            throw new IOException("Response without Content-Length, cannot keep the connection in sync");
+        }
+        in.skipNBytes(contentLength);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b == -1) {
+                throw new IOException("Connection closed by the server");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+}
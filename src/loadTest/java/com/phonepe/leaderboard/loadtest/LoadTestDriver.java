@@ -0,0 +1,201 @@
+package com.phonepe.leaderboard.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load test against a running instance. Each concurrency level runs that many clients, every client
+ * sending its next request as soon as the previous one completes, so throughput stops growing once the server
+ * saturates and the extra concurrency shows up as latency.
+ * <p>
+ * The mix is score submissions and top-N reads on a freshly created leaderboard. Clients run on virtual threads
+ * so that the driver is not the bottleneck at high concurrency levels.
+ * <p>
+ * Optionally, idle keep-alive connections are held open for the whole run on top of the active clients, and
+ * every level is reported as open connections per server core, to compare how many connections each execution
+ * mode sustains and at what tail latency.
+ * <p>
+ * Settings, passed as {@code -PloadTest.<name>=<value>} through Gradle:
+ * baseUrl, concurrency (comma separated levels), durationSeconds, warmupSeconds, readRatio, players,
+ * idleConnections, idleIntervalSeconds, serverCores.
+ */
+public class LoadTestDriver {
+
+    private static final Pattern LEADERBOARD_ID = Pattern.compile("\"leaderboardId\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final double readRatio;
+    private final int players;
+    private String gameId;
+    private String leaderboardId;
+
+    private LoadTestDriver(String baseUrl, double readRatio, int players) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+        this.readRatio = readRatio;
+        this.players = players;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = setting("baseUrl", "http://localhost:8080");
+        int[] concurrencyLevels = Arrays.stream(setting("concurrency", "16,64,256,1024").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(setting("durationSeconds", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(setting("warmupSeconds", "5")));
+        double readRatio = Double.parseDouble(setting("readRatio", "0.8"));
+        int players = Integer.parseInt(setting("players", "100000"));
+        int idleConnectionCount = Integer.parseInt(setting("idleConnections", "0"));
+        Duration idleInterval = Duration.ofSeconds(Long.parseLong(setting("idleIntervalSeconds", "5")));
+        int serverCores = Integer.parseInt(
+                setting("serverCores", String.valueOf(Runtime.getRuntime().availableProcessors()))
+        );
+
+        LoadTestDriver driver = new LoadTestDriver(baseUrl, readRatio, players);
+        driver.createLeaderboard();
+
+        try (IdleConnections idleConnections = IdleConnections.open(
+                baseUrl, "/api/leaderboard/" + driver.leaderboardId + "/top?nPlayers=1", idleConnectionCount, idleInterval
+        )) {
+            if (idleConnectionCount > 0) {
+                System.out.printf("idle connections: %d open, %d failed%n",
+                        idleConnections.open(), idleConnections.failed());
+            }
+            System.out.printf("%-12s %10s %12s %10s %10s %10s %10s %8s%n",
+                    "concurrency", "conn/core", "requests/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            for (int concurrency: concurrencyLevels) {
+                driver.run(concurrency, warmup);
+                Result result = driver.run(concurrency, duration);
+                System.out.printf("%-12d %10.0f %12.0f %10.2f %10.2f %10.2f %10.2f %8d%n",
+                        concurrency,
+                        (double) (concurrency + idleConnections.open()) / serverCores,
+                        result.throughput(),
+                        result.percentileMillis(0.50),
+                        result.percentileMillis(0.99),
+                        result.percentileMillis(0.999),
+                        result.percentileMillis(1.0),
+                        result.errors());
+            }
+        }
+    }
+
+    private static String setting(String name, String defaultValue) {
+        return System.getProperty("loadTest." + name, defaultValue);
+    }
+
+    private void createLeaderboard() throws Exception {
+        gameId = "load-test-" + UUID.randomUUID();
+        long now = System.currentTimeMillis();
+        String body = String.format(
+                "{\"gameId\":\"%s\",\"startTime\":%d,\"endTime\":%d}", gameId, now - 1_000, now + Duration.ofDays(1).toMillis()
+        );
+        HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/leaderboard"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        Matcher matcher = LEADERBOARD_ID.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Could not create leaderboard: " + response.statusCode() + " " + response.body());
+        }
+        leaderboardId = matcher.group(1);
+    }
+
+    private Result run(int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<ClientResult>> clients = new ArrayList<>(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.add(executor.submit(() -> runClient(deadline)));
+            }
+        }
+
+        int requests = 0;
+        int errors = 0;
+        for (Future<ClientResult> client: clients) {
+            requests += client.get().count();
+            errors += client.get().errors();
+        }
+        long[] latencies = new long[requests];
+        int offset = 0;
+        for (Future<ClientResult> client: clients) {
+            ClientResult result = client.get();
+            System.arraycopy(result.latencies(), 0, latencies, offset, result.count());
+            offset += result.count();
+        }
+        Arrays.sort(latencies);
+        return new Result(latencies, errors, duration);
+    }
+
+    private ClientResult runClient(long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = random.nextDouble() < readRatio
+                    ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/leaderboard/" + leaderboardId + "/top?nPlayers=10"))
+                            .GET()
+                            .build()
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/api/leaderboard/game/" + gameId
+                                    + "/player/player-" + random.nextInt(players) + "/submit?score=" + random.nextInt(1_000_000)))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build();
+
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 300) {
+                    errors++;
+                }
+            } catch (Exception e) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return new ClientResult(latencies, count, errors);
+    }
+
+    private record ClientResult(long[] latencies, int count, int errors) {
+    }
+
+    private record Result(long[] sortedLatencies, int errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toNanos() / 1e9);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+}
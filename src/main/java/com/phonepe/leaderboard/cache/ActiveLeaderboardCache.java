@@ -0,0 +1,104 @@
+package com.phonepe.leaderboard.cache;
+
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the currently active leaderboards of each game.
+ * <p>
+ * A leaderboard is active while {@code startTime <= now <= endTime}. Each cached entry expires at the
+ * next moment its set of active leaderboards can change, i.e. the earliest end of an active leaderboard
+ * or start of a pending one, so no time based check is needed on the submit path. Sealed leaderboards are not
+ * loaded at all.
+ * <p>
+ * Every invalidation bumps the game's generation, and a load only caches its result if the generation it started
+ * under is still current, so a load racing with an invalidation cannot put back what the invalidation dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveLeaderboardCache {
+
+    private final LeaderboardRepository leaderboardRepository;
+
+    private final Map<String, ActiveLeaderboards> cache = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>(); // only games ever invalidated
+
+    public ActiveLeaderboards get(String gameId, long currentTime) {
+        ActiveLeaderboards cached = cache.get(gameId);
+        if (cached != null && currentTime < cached.validUntil()) {
+            return cached;
+        }
+        long generation = generationOf(gameId);
+        ActiveLeaderboards loaded = load(gameId, currentTime);
+        // unknown games are not cached, so lookups for made up gameIds cannot grow the cache
+        if (loaded.gameExists()) {
+            cache.compute(gameId, (id, current) -> generationOf(id) == generation ? loaded : current);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the cached leaderboards of the game once the surrounding transaction commits.
+     */
+    public void invalidate(String gameId) {
+        evict(gameId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // loads started before the commit may still have read the old leaderboards
+                    evict(gameId);
+                }
+            });
+        }
+    }
+
+    // bumped before the removal, a load checking the generation under the entry's lock then either is removed
+    // after it put or sees the new generation and does not put
+    private void evict(String gameId) {
+        generations.computeIfAbsent(gameId, id -> new AtomicLong()).incrementAndGet();
+        cache.remove(gameId);
+    }
+
+    private long generationOf(String gameId) {
+        AtomicLong generation = generations.get(gameId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private ActiveLeaderboards load(String gameId, long currentTime) {
+        List<Leaderboard> leaderboards = leaderboardRepository.findUnsealedByGameId(gameId);
+        List<Leaderboard> active = new ArrayList<>();
+        long validUntil = Long.MAX_VALUE;
+        for (Leaderboard leaderboard: leaderboards) {
+            if (currentTime < leaderboard.getStartTime()) {
+                validUntil = Math.min(validUntil, leaderboard.getStartTime());
+            } else if (currentTime <= leaderboard.getEndTime()) {
+                active.add(leaderboard);
+                // a leaderboard that never ends must not wrap validUntil around to the past
+                long endsAt = leaderboard.getEndTime() == Long.MAX_VALUE ? Long.MAX_VALUE : leaderboard.getEndTime() + 1;
+                validUntil = Math.min(validUntil, endsAt);
+            }
+        }
+        boolean gameExists = !leaderboards.isEmpty() || leaderboardRepository.existsByGameId(gameId);
+        return new ActiveLeaderboards(gameExists, List.copyOf(active), validUntil);
+    }
+
+    /**
+     * @param gameExists   whether the game has any leaderboard at all, active or not
+     * @param leaderboards leaderboards accepting scores at the time of the lookup
+     * @param validUntil   first instant at which the active set may differ
+     */
+    public record ActiveLeaderboards(boolean gameExists, List<Leaderboard> leaderboards, long validUntil) {
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.phonepe.leaderboard.cache;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.TopKSnapshot;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository.ArchivedEntry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.phonepe.leaderboard.util.LeaderboardUtil.getLeaderboardJson;
+
+/**
+ * Final standings of a sealed leaderboard, ranked and already encoded: the whole leaderboard as a
+ * {@link com.phonepe.leaderboard.data.response.GetLeaderboardResponse} and top-N as prefixes of a
+ * {@link TopKSnapshot}.
+ */
+public final class FrozenStandings {
+
+    private final TopKSnapshot standings;
+    private final Map<String, Integer> ranks; // playerId -> 1-based rank
+    private final byte[] leaderboardJson;
+
+    private FrozenStandings(TopKSnapshot standings, Map<String, Integer> ranks, byte[] leaderboardJson) {
+        this.standings = standings;
+        this.ranks = ranks;
+        this.leaderboardJson = leaderboardJson;
+    }
+
+    /**
+     * @param entries every entry of the leaderboard in ranking order
+     */
+    public static FrozenStandings of(List<RankedEntry> entries) {
+        Map<String, Integer> ranks = new HashMap<>(entries.size() * 4 / 3 + 1);
+        for (int i = 0; i < entries.size(); i++) {
+            ranks.put(entries.get(i).playerId(), i + 1);
+        }
+        return new FrozenStandings(TopKSnapshot.of(entries), ranks, getLeaderboardJson(entries));
+    }
+
+    public int size() {
+        return standings.size();
+    }
+
+    /**
+     * Shared, never modified: callers write it out as is.
+     */
+    public byte[] leaderboardJson() {
+        return leaderboardJson;
+    }
+
+    public byte[] topJson(int n) {
+        return standings.json(n);
+    }
+
+    /**
+     * @return entries ranked fromRank to toRank, both inclusive and starting at 1
+     */
+    public List<RankedEntry> byRankRange(int fromRank, int toRank) {
+        int from = Math.max(1, fromRank);
+        int to = Math.min(size(), toRank);
+        return to < from ? List.of() : standings.entries().subList(from - 1, to);
+    }
+
+    public Optional<ArchivedEntry> findByPlayer(String playerId) {
+        Integer rank = ranks.get(playerId);
+        if (rank == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArchivedEntry(rank, playerId, standings.entries().get(rank - 1).score()));
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.phonepe.leaderboard.cache;
+
+import com.phonepe.leaderboard.config.FrozenStandingsProperties;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the final standings of sealed leaderboards. They never change once sealed, so entries are never
+ * invalidated, only evicted to bound memory: the cache holds at most a configured number of entries across all
+ * leaderboards, evicting the earliest loaded first.
+ * <p>
+ * Results pages are read by many clients right after a leaderboard ends: concurrent first reads of the same
+ * leaderboard wait for a single load from the archive instead of each running it. The load runs outside the map,
+ * so reads of other leaderboards never wait for it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FrozenStandingsCache {
+
+    private record Loaded(String leaderboardId, int entries) {
+    }
+
+    private final FrozenStandingsProperties properties;
+    private final RankIndexRegistry rankIndexRegistry;
+    private final LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    private final Map<String, CompletableFuture<FrozenStandings>> cache = new ConcurrentHashMap<>();
+    private final Queue<Loaded> loadOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong cachedEntries = new AtomicLong();
+    private final Set<String> oversized = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @return the standings of a sealed leaderboard, empty if it is not sealed or too large to keep in memory
+     */
+    public Optional<FrozenStandings> find(String leaderboardId) {
+        if (!rankIndexRegistry.isSealed(leaderboardId) || oversized.contains(leaderboardId)) {
+            return Optional.empty();
+        }
+        CompletableFuture<FrozenStandings> loading = new CompletableFuture<>();
+        CompletableFuture<FrozenStandings> standings = cache.putIfAbsent(leaderboardId, loading);
+        if (standings == null) {
+            return Optional.ofNullable(load(leaderboardId, loading));
+        }
+        return Optional.ofNullable(await(standings));
+    }
+
+    // failed and oversized loads are not kept, the next read loads again or goes to the archive
+    private FrozenStandings load(String leaderboardId, CompletableFuture<FrozenStandings> loading) {
+        FrozenStandings standings;
+        try {
+            standings = loadFromArchive(leaderboardId);
+        } catch (RuntimeException | Error e) {
+            cache.remove(leaderboardId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+        if (standings == null) {
+            cache.remove(leaderboardId, loading);
+        }
+        loading.complete(standings);
+        if (standings != null) {
+            loadOrder.add(new Loaded(leaderboardId, standings.size()));
+            cachedEntries.addAndGet(standings.size());
+            evictBeyondCapacity();
+        }
+        return standings;
+    }
+
+    private FrozenStandings loadFromArchive(String leaderboardId) {
+        if (leaderboardArchiveRepository.count(leaderboardId) > properties.getMaxLeaderboardEntries()) {
+            oversized.add(leaderboardId);
+            return null;
+        }
+        FrozenStandings standings = FrozenStandings.of(leaderboardArchiveRepository.findAll(leaderboardId));
+        log.info("leaderboardId: {} final standings cached with {} entries", leaderboardId, standings.size());
+        return standings;
+    }
+
+    private void evictBeyondCapacity() {
+        while (cachedEntries.get() > properties.getMaxEntries()) {
+            Loaded eldest = loadOrder.poll();
+            if (eldest == null) {
+                return;
+            }
+            cache.remove(eldest.leaderboardId());
+            cachedEntries.addAndGet(-eldest.entries());
+        }
+    }
+
+    private static FrozenStandings await(CompletableFuture<FrozenStandings> standings) {
+        try {
+            return standings.join();
+        } catch (CompletionException e) {
+            // rethrown as the loading reader saw it
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+}
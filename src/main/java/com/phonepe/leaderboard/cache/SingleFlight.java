@@ -0,0 +1,120 @@
+package com.phonepe.leaderboard.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time. Callers asking for a key whose computation is in flight wait
+ * for it and share its result, or its exception, instead of computing it again.
+ * <p>
+ * With a positive TTL, a successful result is also kept for that long after it completes, and served to callers
+ * arriving in the meantime. Failures are never kept.
+ */
+public class SingleFlight<K, V> {
+
+    public enum Outcome {
+        COMPUTED, // this caller ran the computation
+        JOINED,   // this caller waited for a computation in flight
+        CACHED    // this caller got a result completed less than a TTL ago
+    }
+
+    public record Result<V>(V value, Outcome outcome) {
+    }
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    SingleFlight(long ttlMillis, int maxEntries, LongSupplier nanoClock) {
+        if (ttlMillis < 0 || maxEntries <= 0) {
+            throw new IllegalArgumentException("Single flight TTL or max entries is invalid.");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    public Result<V> get(K key, Supplier<V> computation) {
+        Flight<V> leader = new Flight<>();
+        while (true) {
+            Flight<V> flight = flights.putIfAbsent(key, leader);
+            if (flight == null) {
+                return new Result<>(lead(key, leader, computation), Outcome.COMPUTED);
+            }
+            if (!flight.future.isDone()) {
+                return new Result<>(await(flight), Outcome.JOINED);
+            }
+            if (!flight.future.isCompletedExceptionally() && nanoClock.getAsLong() - flight.completedAt < ttlNanos) {
+                return new Result<>(flight.future.join(), Outcome.CACHED);
+            }
+            // expired, whoever removes it first leads the next computation
+            flights.remove(key, flight);
+        }
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    private V lead(K key, Flight<V> flight, Supplier<V> computation) {
+        V value;
+        try {
+            value = computation.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.future.completeExceptionally(e);
+            throw e;
+        }
+        flight.completedAt = nanoClock.getAsLong();
+        if (ttlNanos == 0 || (flights.size() > maxEntries && !evictExpired())) {
+            flights.remove(key, flight);
+        }
+        // completed last, joiners only read completedAt once the future is done
+        flight.future.complete(value);
+        return value;
+    }
+
+    /**
+     * Only runs once results pile up past the bound.
+     *
+     * @return false if the kept results are all still fresh, the latest one is then not kept
+     */
+    private boolean evictExpired() {
+        long now = nanoClock.getAsLong();
+        flights.values().removeIf(flight -> flight.future.isDone() && now - flight.completedAt >= ttlNanos);
+        return flights.size() <= maxEntries;
+    }
+
+    private static <V> V await(Flight<V> flight) {
+        try {
+            return flight.future.join();
+        } catch (CompletionException e) {
+            // rethrown as the leader saw it, callers handle the same exceptions they would computing it themselves
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private long completedAt; // written before the future completes
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.change-feed")
+public class ChangeFeedProperties {
+
+    private boolean enabled = true;
+
+    private long tickMs = 200; // changes within a tick reach subscribers as one update
+
+    private int subscriberBuffer = 32; // updates queued for a subscriber that reads slower than they are produced, it is dropped beyond
+
+    private long streamTimeoutMs = 1_800_000; // open streams are closed after this long, clients reconnect and get a fresh state
+
+}
@@ -0,0 +1,16 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.coalescing")
+public class CoalescingProperties {
+
+    private boolean enabled = true;
+
+    private long resultTtlMs = 0; // identical reads arriving this long after one completed share its result, 0 only shares reads in flight
+
+    private int maxEntries = 10_000; // results kept for their TTL, beyond it new results are not kept
+
+}
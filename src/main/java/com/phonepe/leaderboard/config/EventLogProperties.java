@@ -0,0 +1,18 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.event-log")
+public class EventLogProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "data/event-log";
+
+    private int segmentSizeBytes = 64 * 1024 * 1024; // rounded down to a whole number of records
+
+    private long forceIntervalMs = 1_000; // how often mapped pages are forced to disk, bounds loss on power failure
+
+}
@@ -0,0 +1,14 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.frozen-standings")
+public class FrozenStandingsProperties {
+
+    private int maxEntries = 1_000_000; // entries kept across all cached leaderboards, a few hundred bytes of heap each; the earliest loaded is evicted first
+
+    private int maxLeaderboardEntries = 250_000; // larger sealed leaderboards are always read from the archive
+
+}
@@ -0,0 +1,32 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.ingestion")
+public class IngestionProperties {
+
+    private Mode mode = Mode.SYNC;
+
+    private Durability durability = Durability.ACK_ON_FLUSH;
+
+    private int queueCapacity = 100_000; // max distinct (leaderboardId, playerId) pairs awaiting flush
+
+    private int batchSize = 1_000; // pending pairs that trigger an early flush, and max rows per JDBC batch
+
+    private long flushIntervalMs = 50;
+
+    private long flushTimeoutMs = 5_000; // how long an ACK_ON_FLUSH submission waits for its batch
+
+    public enum Mode {
+        SYNC,         // every submission is written in its own transaction
+        WRITE_BEHIND  // submissions are coalesced in memory and flushed in JDBC batches
+    }
+
+    public enum Durability {
+        ACK_ON_ENQUEUE, // acknowledge as soon as the submission is queued
+        ACK_ON_FLUSH    // acknowledge once the batch holding the submission is written
+    }
+
+}
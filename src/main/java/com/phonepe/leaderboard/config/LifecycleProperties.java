@@ -0,0 +1,17 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.lifecycle")
+public class LifecycleProperties {
+
+    private boolean enabled = true;
+
+    private long intervalMs = 1_000;
+
+    // how long after endTime a leaderboard is sealed, must outlast in-flight submissions and write-behind flushes
+    private long sealDelayMs = 60_000;
+
+}
@@ -0,0 +1,21 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.ranking")
+public class RankingProperties {
+
+    private Engine engine = Engine.SKIP_LIST;
+
+    private int shards = 0; // power of two, 0 picks the smallest one covering the available processors
+
+    private int topSnapshotSize = 100; // K, top entries every leaderboard serves from its pre-encoded snapshot
+
+    public enum Engine {
+        SKIP_LIST, // one skip list per leaderboard behind a single read-write lock
+        SHARDED    // skip lists striped by player hash, merged for rank queries
+    }
+
+}
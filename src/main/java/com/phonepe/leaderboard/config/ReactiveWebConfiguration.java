@@ -0,0 +1,21 @@
+package com.phonepe.leaderboard.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The reactive stack runs on Reactor Netty, whose few event loop threads serve every connection. Without this,
+ * Tomcat, still on the classpath for the servlet stack, would be picked for the reactive stack too.
+ */
+@Profile("reactive")
+@Configuration(proxyBeanMethods = false)
+public class ReactiveWebConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.phonepe.leaderboard.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "leaderboard.snapshot")
+public class SnapshotProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "data/snapshots";
+
+    private long intervalMs = 300_000;
+
+    private int retained = 2; // most recent snapshot files kept on disk
+
+}
@@ -10,4 +10,8 @@ public class Constants {
 
     public static final int DEFAULT_PAGE_NUMBER = 0;
 
+    public static final int MAX_BULK_SUBMISSION_SIZE = 10_000;
+
+    public static final int MAX_PAGE_SIZE = 1_000;
+
 }
@@ -1,25 +1,52 @@
 package com.phonepe.leaderboard.controller;
 
+import com.phonepe.leaderboard.config.ChangeFeedProperties;
+import com.phonepe.leaderboard.data.request.BulkScoreSubmissionRequest;
 import com.phonepe.leaderboard.data.request.CreateLeaderboardRequest;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
 import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
-import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
 import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.feed.LeaderboardChangeFeed;
 import com.phonepe.leaderboard.service.LeaderboardService;
+import com.phonepe.leaderboard.service.LeaderboardExport;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static org.springframework.http.HttpStatus.CREATED;
 
+@Profile("!reactive")
 @RequestMapping("/api/leaderboard")
 @RestController
 @RequiredArgsConstructor
 public class LeaderboardApi {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // standings of a sealed leaderboard are final, clients and proxies may keep them for good
+    private static final CacheControl FROZEN_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
     private final LeaderboardService leaderboardService;
+    private final LeaderboardChangeFeed leaderboardChangeFeed;
+    private final ChangeFeedProperties changeFeedProperties;
 
     @PostMapping
     public ResponseEntity<CreateLeaderboardResponse> createLeaderboard(@RequestBody CreateLeaderboardRequest request) {
@@ -29,9 +56,32 @@ public class LeaderboardApi {
         );
     }
 
+    @GetMapping("/game/{gameId}/player/{playerId}/standings")
+    public ResponseEntity<PlayerStandingsResponse> getPlayerStandings(@PathVariable String gameId,
+                                                                      @PathVariable String playerId,
+                                                                      @RequestParam(defaultValue = "0") int above,
+                                                                      @RequestParam(defaultValue = "0") int below) {
+        return ResponseEntity.ok(leaderboardService.getPlayerStandings(gameId, playerId, above, below));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<GetLeaderboardResponse> getLeaderboard(@PathVariable String id) {
-        return ResponseEntity.ok(leaderboardService.getLeaderboard(id));
+    public ResponseEntity<byte[]> getLeaderboard(@PathVariable String id, WebRequest request) {
+        return standings(id, request, MediaType.APPLICATION_JSON, () -> leaderboardService.getLeaderboardJson(id));
+    }
+
+    @GetMapping("/{id}/page")
+    public ResponseEntity<LeaderboardPageResponse> getLeaderboardPage(@PathVariable String id,
+                                                                      @RequestParam int limit,
+                                                                      @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(leaderboardService.getLeaderboardPage(id, limit, cursor));
+    }
+
+    @GetMapping(value = "/{id}/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLeaderboard(@PathVariable String id) {
+        LeaderboardExport export = leaderboardService.exportLeaderboard(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(export::writeTo);
     }
 
     @PutMapping("/game/{gameId}/player/{playerId}/submit")
@@ -41,24 +91,93 @@ public class LeaderboardApi {
         return ResponseEntity.ok(leaderboardService.submitScore(gameId, playerId, score));
     }
 
+    @PutMapping("/game/{gameId}/submit")
+    public ResponseEntity<BulkScoreSubmissionResponse> submitScores(@PathVariable String gameId,
+                                                                    @RequestBody BulkScoreSubmissionRequest request) {
+        return ResponseEntity.ok(leaderboardService.submitScores(gameId, request.getScores()));
+    }
+
     @GetMapping("/{id}/top")
-    public ResponseEntity<List<LeaderboardEntryResponse>> getTopNPlayers(@PathVariable String id,
-                                                                         @RequestParam int nPlayers) {
-        return ResponseEntity.ok(leaderboardService.getTopNPlayers(id, nPlayers));
+    public ResponseEntity<byte[]> getTopNPlayers(@PathVariable String id,
+                                                 @RequestParam int nPlayers,
+                                                 WebRequest request) {
+        return standings(id, request, MediaType.APPLICATION_JSON,
+                () -> leaderboardService.getTopNPlayersJson(id, nPlayers));
+    }
+
+    /**
+     * Server-sent events instead of polling /top: a {@code top} event with the current top N, then one with the
+     * changed positions whenever scores change them, and {@code rank} events with the given player's rank.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@PathVariable String id,
+                                    @RequestParam int nPlayers,
+                                    @RequestParam(required = false) String playerId) {
+        SseEmitter emitter = new SseEmitter(changeFeedProperties.getStreamTimeoutMs());
+        Runnable cancel = leaderboardChangeFeed.subscribe(
+                id, nPlayers, playerId, new SseChangeSink(emitter, changeFeedProperties.getSubscriberBuffer())
+        );
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(() -> {
+            cancel.run();
+            emitter.complete(); // clients reconnect and start over from the current state
+        });
+        emitter.onError(e -> cancel.run());
+        return emitter;
     }
 
     @GetMapping("/{id}/player/{playerId}/next")
     public ResponseEntity<List<LeaderboardEntryResponse>> getNextNPlayers(@PathVariable String id,
                                                                           @PathVariable String playerId,
-                                                                          @RequestParam int nPlayers) {
-        return ResponseEntity.ok(leaderboardService.getNextNPlayers(id, playerId, nPlayers));
+                                                                          @RequestParam int nPlayers,
+                                                                          WebRequest request) {
+        return standings(id, request, null, () -> leaderboardService.getNextNPlayers(id, playerId, nPlayers));
     }
 
     @GetMapping("{id}/player/{playerId}/prev")
     public ResponseEntity<List<LeaderboardEntryResponse>> getPrevNPlayers(@PathVariable String id,
                                                                           @PathVariable String playerId,
-                                                                          @RequestParam int nPlayers) {
-        return ResponseEntity.ok(leaderboardService.getPrevNPlayers(id, playerId, nPlayers));
+                                                                          @RequestParam int nPlayers,
+                                                                          WebRequest request) {
+        return standings(id, request, null, () -> leaderboardService.getPrevNPlayers(id, playerId, nPlayers));
+    }
+
+    @GetMapping("/{id}/player/{playerId}/rank")
+    public ResponseEntity<PlayerRankResponse> getPlayerRank(@PathVariable String id,
+                                                            @PathVariable String playerId,
+                                                            WebRequest request) {
+        return standings(id, request, null, () -> leaderboardService.getPlayerRank(id, playerId));
+    }
+
+    /**
+     * Rank, entries around the player and optionally the top nTop entries in one request, for screens that would
+     * otherwise call rank, prev, next and top one after the other.
+     */
+    @GetMapping("/{id}/player/{playerId}/neighborhood")
+    public ResponseEntity<NeighborhoodResponse> getNeighborhood(@PathVariable String id,
+                                                                @PathVariable String playerId,
+                                                                @RequestParam int above,
+                                                                @RequestParam int below,
+                                                                @RequestParam(defaultValue = "0") int nTop,
+                                                                WebRequest request) {
+        return standings(id, request, null, () -> leaderboardService.getNeighborhood(id, playerId, above, below, nTop));
+    }
+
+    /**
+     * Reads of a sealed leaderboard carry its ETag and may be cached forever. A request revalidating with that
+     * ETag is answered 304 without reading the standings at all.
+     */
+    private <T> ResponseEntity<T> standings(String id, WebRequest request, MediaType contentType, Supplier<T> body) {
+        Optional<String> eTag = leaderboardService.getFrozenStandingsETag(id);
+        if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+            return null; // 304 with the validators already written by checkNotModified
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        eTag.ifPresent(value -> response.eTag(value).cacheControl(FROZEN_CACHE_CONTROL));
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return response.body(body.get());
     }
 
 }
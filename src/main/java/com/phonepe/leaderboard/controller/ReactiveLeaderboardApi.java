@@ -0,0 +1,197 @@
+package com.phonepe.leaderboard.controller;
+
+import com.phonepe.leaderboard.config.ChangeFeedProperties;
+import com.phonepe.leaderboard.data.request.BulkScoreSubmissionRequest;
+import com.phonepe.leaderboard.data.request.CreateLeaderboardRequest;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
+import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
+import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.feed.LeaderboardChangeFeed;
+import com.phonepe.leaderboard.service.ReactiveLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.CREATED;
+
+/**
+ * WebFlux counterpart of {@link LeaderboardApi}, active with the {@code reactive} profile. Same paths, parameters
+ * and responses.
+ */
+@Profile("reactive")
+@RequestMapping("/api/leaderboard")
+@RestController
+@RequiredArgsConstructor
+public class ReactiveLeaderboardApi {
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    // standings of a sealed leaderboard are final, clients and proxies may keep them for good
+    private static final CacheControl FROZEN_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
+    private final ReactiveLeaderboardService reactiveLeaderboardService;
+    private final LeaderboardChangeFeed leaderboardChangeFeed;
+    private final ChangeFeedProperties changeFeedProperties;
+
+    @PostMapping
+    public Mono<ResponseEntity<CreateLeaderboardResponse>> createLeaderboard(@RequestBody CreateLeaderboardRequest request) {
+        return reactiveLeaderboardService.createLeaderboard(request.getGameId(), request.getStartTime(), request.getEndTime())
+                .map(response -> new ResponseEntity<>(response, CREATED));
+    }
+
+    @GetMapping("/game/{gameId}/player/{playerId}/standings")
+    public Mono<PlayerStandingsResponse> getPlayerStandings(@PathVariable String gameId,
+                                                            @PathVariable String playerId,
+                                                            @RequestParam(defaultValue = "0") int above,
+                                                            @RequestParam(defaultValue = "0") int below) {
+        return reactiveLeaderboardService.getPlayerStandings(gameId, playerId, above, below);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<byte[]>> getLeaderboard(@PathVariable String id, ServerWebExchange exchange) {
+        return standings(id, exchange, MediaType.APPLICATION_JSON,
+                () -> reactiveLeaderboardService.getLeaderboardJson(id));
+    }
+
+    @GetMapping("/{id}/page")
+    public Mono<LeaderboardPageResponse> getLeaderboardPage(@PathVariable String id,
+                                                            @RequestParam int limit,
+                                                            @RequestParam(required = false) String cursor) {
+        return reactiveLeaderboardService.getLeaderboardPage(id, limit, cursor);
+    }
+
+    @GetMapping(value = "/{id}/export", produces = NDJSON_VALUE)
+    public Flux<LeaderboardEntryResponse> exportLeaderboard(@PathVariable String id) {
+        return reactiveLeaderboardService.exportLeaderboard(id);
+    }
+
+    @PutMapping("/game/{gameId}/player/{playerId}/submit")
+    public Mono<ScoreSubmissionResponse> submitScore(@PathVariable String gameId,
+                                                     @PathVariable String playerId,
+                                                     @RequestParam int score) {
+        return reactiveLeaderboardService.submitScore(gameId, playerId, score);
+    }
+
+    @PutMapping("/game/{gameId}/submit")
+    public Mono<BulkScoreSubmissionResponse> submitScores(@PathVariable String gameId,
+                                                          @RequestBody BulkScoreSubmissionRequest request) {
+        return reactiveLeaderboardService.submitScores(gameId, request.getScores());
+    }
+
+    @GetMapping("/{id}/top")
+    public Mono<ResponseEntity<byte[]>> getTopNPlayers(@PathVariable String id,
+                                                       @RequestParam int nPlayers,
+                                                       ServerWebExchange exchange) {
+        return standings(id, exchange, MediaType.APPLICATION_JSON,
+                () -> reactiveLeaderboardService.getTopNPlayersJson(id, nPlayers));
+    }
+
+    /**
+     * Server-sent events instead of polling /top: a {@code top} event with the current top N, then one with the
+     * changed positions whenever scores change them, and {@code rank} events with the given player's rank.
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChanges(@PathVariable String id,
+                                                       @RequestParam int nPlayers,
+                                                       @RequestParam(required = false) String playerId) {
+        return Flux.defer(() -> {
+            // bounded, a client that does not keep up overflows it and is dropped by the feed
+            Sinks.Many<LeaderboardChangeFeed.ChangeEvent> events = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<LeaderboardChangeFeed.ChangeEvent>get(changeFeedProperties.getSubscriberBuffer()).get());
+            Runnable cancel = leaderboardChangeFeed.subscribe(id, nPlayers, playerId, new LeaderboardChangeFeed.Sink() {
+                @Override
+                public boolean offer(LeaderboardChangeFeed.ChangeEvent event) {
+                    return events.tryEmitNext(event).isSuccess();
+                }
+
+                @Override
+                public void complete() {
+                    events.tryEmitComplete();
+                }
+            });
+            return events.asFlux()
+                    .take(Duration.ofMillis(changeFeedProperties.getStreamTimeoutMs()))
+                    .doFinally(signal -> cancel.run())
+                    .map(event -> ServerSentEvent.builder(event.data()).event(event.name()).build());
+        });
+    }
+
+    @GetMapping("/{id}/player/{playerId}/next")
+    public Mono<ResponseEntity<List<LeaderboardEntryResponse>>> getNextNPlayers(@PathVariable String id,
+                                                                                @PathVariable String playerId,
+                                                                                @RequestParam int nPlayers,
+                                                                                ServerWebExchange exchange) {
+        return standings(id, exchange, null,
+                () -> reactiveLeaderboardService.getNextNPlayers(id, playerId, nPlayers).collectList());
+    }
+
+    @GetMapping("{id}/player/{playerId}/prev")
+    public Mono<ResponseEntity<List<LeaderboardEntryResponse>>> getPrevNPlayers(@PathVariable String id,
+                                                                                @PathVariable String playerId,
+                                                                                @RequestParam int nPlayers,
+                                                                                ServerWebExchange exchange) {
+        return standings(id, exchange, null,
+                () -> reactiveLeaderboardService.getPrevNPlayers(id, playerId, nPlayers).collectList());
+    }
+
+    @GetMapping("/{id}/player/{playerId}/rank")
+    public Mono<ResponseEntity<PlayerRankResponse>> getPlayerRank(@PathVariable String id,
+                                                                  @PathVariable String playerId,
+                                                                  ServerWebExchange exchange) {
+        return standings(id, exchange, null, () -> reactiveLeaderboardService.getPlayerRank(id, playerId));
+    }
+
+    @GetMapping("/{id}/player/{playerId}/neighborhood")
+    public Mono<ResponseEntity<NeighborhoodResponse>> getNeighborhood(@PathVariable String id,
+                                                                      @PathVariable String playerId,
+                                                                      @RequestParam int above,
+                                                                      @RequestParam int below,
+                                                                      @RequestParam(defaultValue = "0") int nTop,
+                                                                      ServerWebExchange exchange) {
+        return standings(id, exchange, null,
+                () -> reactiveLeaderboardService.getNeighborhood(id, playerId, above, below, nTop));
+    }
+
+    /**
+     * Reads of a sealed leaderboard carry its ETag and may be cached forever. A request revalidating with that
+     * ETag is answered 304 without reading the standings at all.
+     */
+    private <T> Mono<ResponseEntity<T>> standings(String id,
+                                                  ServerWebExchange exchange,
+                                                  MediaType contentType,
+                                                  Supplier<Mono<T>> body) {
+        Optional<String> eTag = reactiveLeaderboardService.getFrozenStandingsETag(id);
+        if (eTag.isPresent() && exchange.checkNotModified(eTag.get())) {
+            return Mono.empty(); // 304 with the validators already written by checkNotModified
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        eTag.ifPresent(value -> response.eTag(value).cacheControl(FROZEN_CACHE_CONTROL));
+        if (contentType != null) {
+            response.contentType(contentType);
+        }
+        return body.get().map(response::body);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.phonepe.leaderboard.controller;
+
+import com.phonepe.leaderboard.feed.LeaderboardChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Queues change events for one SSE client and writes them from a virtual thread, so that a slow client fills its
+ * own bounded queue instead of holding up the change feed.
+ */
+final class SseChangeSink implements LeaderboardChangeFeed.Sink {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<LeaderboardChangeFeed.ChangeEvent> events;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    SseChangeSink(SseEmitter emitter, int capacity) {
+        this.emitter = emitter;
+        this.events = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(LeaderboardChangeFeed.ChangeEvent event) {
+        if (closed || !events.offer(event)) {
+            return false;
+        }
+        if (draining.compareAndSet(false, true)) {
+            Thread.startVirtualThread(this::drain);
+        }
+        return true;
+    }
+
+    @Override
+    public void complete() {
+        closed = true;
+        emitter.complete();
+    }
+
+    // a single drainer at a time keeps the events in order
+    private void drain() {
+        do {
+            for (LeaderboardChangeFeed.ChangeEvent event = events.poll(); event != null && !closed; event = events.poll()) {
+                try {
+                    emitter.send(SseEmitter.event().name(event.name()).data(event.data(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // the client went away, completing the emitter cancels the subscription
+                    closed = true;
+                    emitter.completeWithError(e);
+                }
+            }
+            draining.set(false);
+        } while (!closed && !events.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+}
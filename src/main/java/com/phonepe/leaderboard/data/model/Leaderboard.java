@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 @Data
 @Entity
@@ -22,4 +24,13 @@ public class Leaderboard {
 
     private long endTime; // leaderboard de-activation time
 
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR) // a plain varchar column, not a native enum type where the dialect has one
+    @Column(nullable = false)
+    private LeaderboardStatus status = LeaderboardStatus.PENDING; // advanced by the lifecycle job
+
+    public Leaderboard(String id, String gameId, long startTime, long endTime) {
+        this(id, gameId, startTime, endTime, LeaderboardStatus.PENDING);
+    }
+
 }
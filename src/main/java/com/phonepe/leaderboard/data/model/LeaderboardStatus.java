@@ -0,0 +1,7 @@
+package com.phonepe.leaderboard.data.model;
+
+public enum LeaderboardStatus {
+    PENDING, // created, startTime not reached yet
+    ACTIVE,  // accepting scores, ranked in memory
+    SEALED   // ended, final standings archived and evicted from the hot tables and rank indexes
+}
@@ -0,0 +1,7 @@
+package com.phonepe.leaderboard.data.model;
+
+/**
+ * A score to be written to a leaderboard with update-if-higher semantics.
+ */
+public record ScoreUpdate(String leaderboardId, String playerId, int score) {
+}
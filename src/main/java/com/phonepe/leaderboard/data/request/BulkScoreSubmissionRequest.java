@@ -0,0 +1,12 @@
+package com.phonepe.leaderboard.data.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BulkScoreSubmissionRequest {
+    private List<PlayerScore> scores;
+}
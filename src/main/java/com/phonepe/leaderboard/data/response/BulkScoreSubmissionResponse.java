@@ -0,0 +1,26 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class BulkScoreSubmissionResponse {
+    private List<PlayerResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PlayerResult {
+        private String playerId;
+        private int updatedLeaderboardCount;
+        private boolean dataUpdated;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class LeaderboardPageResponse {
+    private List<LeaderboardEntryResponse> scores;
+    private String nextCursor; // absent on the last page
+}
@@ -0,0 +1,15 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class LeaderboardStandingResponse {
+    private String leaderboardId;
+    private long startTime;
+    private long endTime;
+    private NeighborhoodResponse neighborhood; // absent while the player has no score on the leaderboard
+}
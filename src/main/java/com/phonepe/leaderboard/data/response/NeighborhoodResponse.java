@@ -0,0 +1,17 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class NeighborhoodResponse {
+    private PlayerRankResponse player;
+    private List<LeaderboardEntryResponse> above; // ranked just ahead of the player, highest score first
+    private List<LeaderboardEntryResponse> below; // ranked just behind the player, highest score first
+    private List<LeaderboardEntryResponse> top;   // absent unless requested
+}
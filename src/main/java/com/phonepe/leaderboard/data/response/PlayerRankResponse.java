@@ -0,0 +1,16 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class PlayerRankResponse {
+    private String playerId;
+    private int score;
+    private int rank; // 1-based position in (score desc, playerId asc) order
+}
@@ -0,0 +1,16 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class PlayerStandingsResponse {
+    private String gameId;
+    private String playerId;
+    private List<LeaderboardStandingResponse> standings; // one per active leaderboard of the game
+}
@@ -0,0 +1,21 @@
+package com.phonepe.leaderboard.data.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Positions of a top-N list whose player or score changed. Applying them, in any order, to the previous list and
+ * cutting it to size gives the current one.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(value = JsonInclude.Include.NON_NULL)
+public class TopPlayersChangeResponse {
+    private List<PlayerRankResponse> changes;
+    private int size; // number of players currently in the top-N list
+}
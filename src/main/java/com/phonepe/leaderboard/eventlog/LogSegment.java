@@ -0,0 +1,136 @@
+package com.phonepe.leaderboard.eventlog;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * A fixed-size, memory-mapped file of fixed-width score event records, written append-only by a single writer
+ * at a time and readable concurrently.
+ * <p>
+ * Record layout, {@value #RECORD_SIZE} bytes: timestamp (long), leaderboard symbol (int), player symbol (int),
+ * score (int), status (byte), 3 bytes of padding. The status byte is written last and is never zero for a
+ * complete record, so the zero-filled tail of the file marks the end of the data after a restart.
+ */
+final class LogSegment implements AutoCloseable {
+
+    static final int RECORD_SIZE = 24;
+
+    private static final int TIMESTAMP_OFFSET = 0;
+    private static final int LEADERBOARD_OFFSET = 8;
+    private static final int PLAYER_OFFSET = 12;
+    private static final int SCORE_OFFSET = 16;
+    private static final int STATUS_OFFSET = 20;
+
+    private static final byte STATUS_ACCEPTED = 1;
+    private static final byte STATUS_IGNORED = 2;
+
+    private final long index;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private volatile int count; // published after the record is complete
+
+    private LogSegment(long index, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.index = index;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = recoverCount();
+    }
+
+    static LogSegment open(Path file, long index, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        return new LogSegment(index, channel, buffer, capacity);
+    }
+
+    // complete records form a prefix of the segment, followed by zeroes
+    private int recoverCount() {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.get(mid * RECORD_SIZE + STATUS_OFFSET) != 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    long index() {
+        return index;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    void append(long timestamp, int leaderboard, int player, int score, boolean accepted) {
+        int offset = count * RECORD_SIZE;
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putInt(offset + LEADERBOARD_OFFSET, leaderboard);
+        buffer.putInt(offset + PLAYER_OFFSET, player);
+        buffer.putInt(offset + SCORE_OFFSET, score);
+        buffer.put(offset + STATUS_OFFSET, accepted ? STATUS_ACCEPTED : STATUS_IGNORED);
+        count++;
+    }
+
+    long timestamp(int record) {
+        return buffer.getLong(record * RECORD_SIZE + TIMESTAMP_OFFSET);
+    }
+
+    int leaderboard(int record) {
+        return buffer.getInt(record * RECORD_SIZE + LEADERBOARD_OFFSET);
+    }
+
+    int player(int record) {
+        return buffer.getInt(record * RECORD_SIZE + PLAYER_OFFSET);
+    }
+
+    int score(int record) {
+        return buffer.getInt(record * RECORD_SIZE + SCORE_OFFSET);
+    }
+
+    boolean accepted(int record) {
+        return buffer.get(record * RECORD_SIZE + STATUS_OFFSET) == STATUS_ACCEPTED;
+    }
+
+    /**
+     * First record, among the first {@code count}, with a timestamp at or after the given one. Timestamps are
+     * non-decreasing in the log.
+     */
+    int firstAtOrAfter(long timestamp, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.phonepe.leaderboard.eventlog;
+
+/**
+ * One score submission against one leaderboard, accepted if it raised or created the player's entry.
+ */
+public record ScoreEvent(long timestamp, String leaderboardId, String playerId, int score, boolean accepted) {
+}
@@ -0,0 +1,269 @@
+package com.phonepe.leaderboard.eventlog;
+
+import com.phonepe.leaderboard.config.EventLogProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Append-only history of every score submission, accepted or ignored, per leaderboard it was applied to.
+ * <p>
+ * Events are fixed-width records in segmented, memory-mapped files, with leaderboard and player ids interned
+ * through a {@link SymbolTable}. An append is a few stores into the page cache, so it adds no I/O to the
+ * submission; mapped pages are forced to disk every force interval and when the service stops. Timestamps are
+ * non-decreasing across the log, which lets time-bounded scans seek by binary search.
+ */
+@Slf4j
+@Component
+public class ScoreEventLog {
+
+    private static final String SYMBOLS_FILE = "symbols.dat";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final EventLogProperties properties;
+    private final LongSupplier clock;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService forcer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "score-event-log-forcer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Path directory;
+    private SymbolTable symbols;
+    private long lastTimestamp;
+
+    @Autowired
+    public ScoreEventLog(EventLogProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    ScoreEventLog(EventLogProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!isEnabled()) {
+            return;
+        }
+        directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        symbols = new SymbolTable(directory.resolve(SYMBOLS_FILE));
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file: files.filter(ScoreEventLog::isSegment).sorted().toList()) {
+                segments.add(LogSegment.open(file, segmentIndex(file), segmentCapacity()));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(openSegment(0));
+        }
+        LogSegment last = segments.get(segments.size() - 1);
+        lastTimestamp = last.count() == 0 ? 0 : last.timestamp(last.count() - 1);
+
+        long interval = properties.getForceIntervalMs();
+        forcer.scheduleWithFixedDelay(this::force, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Score event log opened at {} with {} segments", directory.toAbsolutePath(), segments.size());
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        forcer.shutdown();
+        if (!isEnabled()) {
+            return;
+        }
+        // a force in progress must not run into closed segments
+        if (!forcer.awaitTermination(properties.getForceIntervalMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("Score event log forcer did not stop in time, closing segments anyway");
+        }
+        appendLock.lock();
+        try {
+            symbols.force();
+            for (LogSegment segment: segments) {
+                segment.close();
+            }
+            symbols.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void append(String leaderboardId, String playerId, int score, boolean accepted) {
+        if (!isEnabled()) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            int leaderboard = symbols.intern(leaderboardId);
+            int player = symbols.intern(playerId);
+            LogSegment segment = segments.get(segments.size() - 1);
+            if (segment.isFull()) {
+                segment.force();
+                segment = openSegment(segment.index() + 1);
+                segments.add(segment);
+            }
+            lastTimestamp = Math.max(lastTimestamp, clock.getAsLong());
+            segment.append(lastTimestamp, leaderboard, player, score, accepted);
+        } catch (IOException e) {
+            throw new RuntimeException("Score event could not be logged.", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends the event once the surrounding transaction commits, so the log never records a submission that was
+     * rolled back. Appends immediately when there is no transaction.
+     */
+    public void appendAfterCommit(String leaderboardId, String playerId, int score, boolean accepted) {
+        if (!isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(leaderboardId, playerId, score, accepted);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    append(leaderboardId, playerId, score, accepted);
+                } catch (RuntimeException e) {
+                    // the submission itself is committed, failing the request now would misreport it
+                    log.error("leaderboardId: {} playerId: {} score event lost", leaderboardId, playerId, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Feeds every logged event, oldest first, to the consumer.
+     */
+    public void replay(Consumer<ScoreEvent> consumer) {
+        scan(Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Feeds the events logged in [fromTimestamp, toTimestamp), oldest first, to the consumer. Events appended
+     * while scanning may or may not be included.
+     */
+    public void scan(long fromTimestamp, long toTimestamp, Consumer<ScoreEvent> consumer) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (LogSegment segment: segments) {
+            int count = segment.count();
+            if (count == 0 || segment.timestamp(0) >= toTimestamp) {
+                return;
+            }
+            for (int i = segment.firstAtOrAfter(fromTimestamp, count); i < count; i++) {
+                long timestamp = segment.timestamp(i);
+                if (timestamp >= toTimestamp) {
+                    return;
+                }
+                consumer.accept(new ScoreEvent(
+                        timestamp,
+                        symbols.symbol(segment.leaderboard(i)),
+                        symbols.symbol(segment.player(i)),
+                        segment.score(i),
+                        segment.accepted(i)
+                ));
+            }
+        }
+    }
+
+    /**
+     * Deletes the segments holding only events logged before the given time, never the one being appended to.
+     * A scan already reading a deleted segment finishes on its mapping, which is released once unreachable.
+     *
+     * @return the number of segments deleted
+     */
+    public int deleteBefore(long timestamp) {
+        if (!isEnabled()) {
+            return 0;
+        }
+        List<LogSegment> expired = new ArrayList<>();
+        appendLock.lock();
+        try {
+            // timestamps are non-decreasing across segments, so the expired ones are a prefix of the log
+            for (LogSegment segment: segments.subList(0, segments.size() - 1)) {
+                int count = segment.count();
+                if (count > 0 && segment.timestamp(count - 1) >= timestamp) {
+                    break;
+                }
+                expired.add(segment);
+            }
+            segments.removeAll(expired);
+        } finally {
+            appendLock.unlock();
+        }
+        for (LogSegment segment: expired) {
+            try {
+                segment.close();
+                Files.deleteIfExists(segmentFile(segment.index()));
+            } catch (IOException e) {
+                log.warn("Could not delete score event log segment {}", segment.index(), e);
+            }
+        }
+        return expired.size();
+    }
+
+    // runs outside the append lock, forcing mapped pages does not need to stall appends
+    void force() {
+        try {
+            symbols.force(); // before the segment, a forced record must never refer to a lost symbol
+            segments.get(segments.size() - 1).force();
+        } catch (IOException e) {
+            log.error("Could not force score event log to disk", e);
+        }
+    }
+
+    private LogSegment openSegment(long index) throws IOException {
+        return LogSegment.open(segmentFile(index), index, segmentCapacity());
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private int segmentCapacity() {
+        return Math.max(1, properties.getSegmentSizeBytes() / LogSegment.RECORD_SIZE);
+    }
+
+    private static boolean isSegment(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+}
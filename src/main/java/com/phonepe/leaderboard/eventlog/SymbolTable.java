@@ -0,0 +1,93 @@
+package com.phonepe.leaderboard.eventlog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Interns leaderboard and player ids into dense ints so that log records stay fixed-width. The table is persisted
+ * as an append-only file of length-prefixed UTF-8 strings, a symbol's id being its position in the file.
+ * <p>
+ * Interning is guarded by the append lock of {@link ScoreEventLog}. Lookups by id may run concurrently with it:
+ * a reader only resolves ids of records it has seen published, which happens after their symbols were stored.
+ */
+class SymbolTable implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] symbols = new String[1024];
+    private int size;
+
+    SymbolTable(Path file) throws IOException {
+        this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+        load();
+    }
+
+    private void load() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        int end = 0;
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt();
+            if (length > buffer.remaining()) {
+                break; // torn write of the last symbol, no record can refer to it
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            add(new String(bytes, StandardCharsets.UTF_8));
+            end = buffer.position();
+        }
+        channel.truncate(end);
+        channel.position(end);
+    }
+
+    int intern(String symbol) throws IOException {
+        Integer id = ids.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return add(symbol);
+    }
+
+    private int add(String symbol) {
+        String[] current = symbols;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+            symbols = current;
+        }
+        current[size] = symbol;
+        ids.put(symbol, size);
+        return size++;
+    }
+
+    String symbol(int id) {
+        return symbols[id];
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
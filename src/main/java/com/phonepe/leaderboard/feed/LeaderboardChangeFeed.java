@@ -0,0 +1,269 @@
+package com.phonepe.leaderboard.feed;
+
+import com.phonepe.leaderboard.config.ChangeFeedProperties;
+import com.phonepe.leaderboard.config.RankingProperties;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.TopPlayersChangeResponse;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.TopKRankIndex;
+import com.phonepe.leaderboard.ranking.TopKSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes changes of live leaderboards to subscribers instead of having them poll: the top N players and, for a
+ * subscriber following a player, that player's rank.
+ * <p>
+ * Every leaderboard with subscribers has a single feed. Once per tick it checks whether any score was accepted
+ * since the previous tick, diffs the leaderboard's top-K snapshot against the one it last published, and hands
+ * each subscriber the changed positions within its N and its player's new rank. Scores accepted within a tick are
+ * coalesced into one update, and the diff and every player's rank are computed once per tick however many
+ * subscribers share them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardChangeFeed {
+
+    public static final String TOP_EVENT = "top";
+    public static final String RANK_EVENT = "rank";
+
+    private final ChangeFeedProperties properties;
+    private final RankingProperties rankingProperties;
+    private final RankIndexRegistry rankIndexRegistry;
+
+    private final Map<String, BoardFeed> feeds = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "leaderboard-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public record ChangeEvent(String name, Object data) {
+    }
+
+    /**
+     * Delivers events to one subscriber. Called from the feed's thread, must not block.
+     */
+    public interface Sink {
+
+        /**
+         * @return false if the event could not be queued, the subscriber is then dropped and completed
+         */
+        boolean offer(ChangeEvent event);
+
+        void complete();
+
+    }
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            long tick = properties.getTickMs();
+            scheduler.scheduleWithFixedDelay(this::publish, tick, tick, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        feeds.values().forEach(BoardFeed::completeAll);
+        feeds.clear();
+    }
+
+    /**
+     * Subscribes to the top nPlayers of a live leaderboard and, when playerId is given, to that player's rank. The
+     * current top N and rank are offered right away, then only what changed.
+     *
+     * @return cancels the subscription
+     */
+    public Runnable subscribe(String leaderboardId, int nPlayers, String playerId, Sink sink) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+        if (nPlayers <= 0 || nPlayers > rankingProperties.getTopSnapshotSize()) {
+            throw new RuntimeException("N count is invalid.");
+        }
+        if (!properties.isEnabled()) {
+            throw new RuntimeException("Leaderboard change feed is disabled.");
+        }
+        TopKRankIndex index = rankIndexRegistry.findTopK(leaderboardId)
+                .orElseThrow(() -> new RuntimeException("No live leaderboard found for given id."));
+        Subscriber subscriber = new Subscriber(nPlayers, playerId == null || playerId.isEmpty() ? null : playerId, sink);
+        feeds.compute(leaderboardId, (id, feed) -> {
+            BoardFeed current = feed == null ? new BoardFeed(index) : feed;
+            current.add(subscriber, index);
+            return current;
+        });
+        return () -> {
+            BoardFeed feed = feeds.get(leaderboardId);
+            if (feed != null) {
+                feed.subscribers.remove(subscriber);
+            }
+        };
+    }
+
+    public int subscriberCount(String leaderboardId) {
+        BoardFeed feed = feeds.get(leaderboardId);
+        return feed == null ? 0 : feed.subscribers.size();
+    }
+
+    void publish() {
+        for (Map.Entry<String, BoardFeed> entry: feeds.entrySet()) {
+            String leaderboardId = entry.getKey();
+            try {
+                Optional<TopKRankIndex> index = rankIndexRegistry.findTopK(leaderboardId);
+                if (index.isEmpty()) {
+                    // sealed, its standings will not change anymore
+                    BoardFeed sealed = feeds.remove(leaderboardId);
+                    if (sealed != null) {
+                        sealed.completeAll();
+                    }
+                    continue;
+                }
+                entry.getValue().publish(index.get());
+                feeds.computeIfPresent(leaderboardId, (id, feed) -> feed.subscribers.isEmpty() ? null : feed);
+            } catch (RuntimeException e) {
+                log.error("leaderboardId: {} could not publish changes", leaderboardId, e);
+            }
+        }
+    }
+
+    private static PlayerRankResponse rankOf(TopKRankIndex index, String playerId) {
+        OptionalInt score = index.score(playerId);
+        if (score.isEmpty()) {
+            return null;
+        }
+        return PlayerRankResponse.builder()
+                .playerId(playerId)
+                .score(score.getAsInt())
+                .rank(index.countAbove(score.getAsInt(), playerId) + 1)
+                .build();
+    }
+
+    private static PlayerRankResponse position(int rank, RankedEntry entry) {
+        return PlayerRankResponse.builder().playerId(entry.playerId()).score(entry.score()).rank(rank).build();
+    }
+
+    private static final class Subscriber {
+
+        private final int nPlayers;
+        private final String playerId;
+        private final Sink sink;
+        private PlayerRankResponse lastRank; // guarded by the board feed
+
+        private Subscriber(int nPlayers, String playerId, Sink sink) {
+            this.nPlayers = nPlayers;
+            this.playerId = playerId;
+            this.sink = sink;
+        }
+
+    }
+
+    private static final class BoardFeed {
+
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // the change count is read before the snapshot, a change racing with the read shows up in the next tick
+        private long publishedChanges;
+        private TopKSnapshot published;
+
+        private BoardFeed(TopKRankIndex index) {
+            this.publishedChanges = index.changeCount();
+            this.published = index.snapshot();
+        }
+
+        // subscribers start from the published snapshot, so that the next diff applies to what they were sent
+        private synchronized void add(Subscriber subscriber, TopKRankIndex index) {
+            subscribers.add(subscriber);
+            List<RankedEntry> entries = published.entries();
+            List<PlayerRankResponse> top = new ArrayList<>(Math.min(subscriber.nPlayers, entries.size()));
+            for (int i = 0; i < entries.size() && i < subscriber.nPlayers; i++) {
+                top.add(position(i + 1, entries.get(i)));
+            }
+            boolean delivered = subscriber.sink.offer(new ChangeEvent(TOP_EVENT, new TopPlayersChangeResponse(top, top.size())));
+            if (delivered && subscriber.playerId != null) {
+                subscriber.lastRank = rankOf(index, subscriber.playerId);
+                if (subscriber.lastRank != null) {
+                    delivered = subscriber.sink.offer(new ChangeEvent(RANK_EVENT, subscriber.lastRank));
+                }
+            }
+            if (!delivered) {
+                drop(subscriber);
+            }
+        }
+
+        private synchronized void publish(TopKRankIndex index) {
+            long changes = index.changeCount();
+            if (changes == publishedChanges) {
+                return;
+            }
+            TopKSnapshot snapshot = index.snapshot();
+            List<PlayerRankResponse> topChanges = snapshot == published ? List.of() : diff(published, snapshot);
+            Map<String, PlayerRankResponse> ranks = new HashMap<>();
+            for (Subscriber subscriber: subscribers) {
+                boolean delivered = true;
+                List<PlayerRankResponse> visible = topChanges.stream()
+                        .filter(change -> change.getRank() <= subscriber.nPlayers)
+                        .toList();
+                if (!visible.isEmpty()) {
+                    delivered = subscriber.sink.offer(new ChangeEvent(TOP_EVENT,
+                            new TopPlayersChangeResponse(visible, Math.min(subscriber.nPlayers, snapshot.size()))));
+                }
+                if (delivered && subscriber.playerId != null) {
+                    PlayerRankResponse rank = ranks.computeIfAbsent(subscriber.playerId, playerId -> rankOf(index, playerId));
+                    if (rank != null && !rank.equals(subscriber.lastRank)) {
+                        subscriber.lastRank = rank;
+                        delivered = subscriber.sink.offer(new ChangeEvent(RANK_EVENT, rank));
+                    }
+                }
+                if (!delivered) {
+                    drop(subscriber);
+                }
+            }
+            publishedChanges = changes;
+            published = snapshot;
+        }
+
+        private static List<PlayerRankResponse> diff(TopKSnapshot previous, TopKSnapshot current) {
+            List<RankedEntry> before = previous.entries();
+            List<RankedEntry> after = current.entries();
+            List<PlayerRankResponse> changes = new ArrayList<>();
+            for (int i = 0; i < after.size(); i++) {
+                if (i >= before.size() || !before.get(i).equals(after.get(i))) {
+                    changes.add(position(i + 1, after.get(i)));
+                }
+            }
+            return changes;
+        }
+
+        // a subscriber that cannot keep up reconnects and starts over from a fresh state
+        private void drop(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            subscriber.sink.complete();
+        }
+
+        private void completeAll() {
+            subscribers.forEach(subscriber -> subscriber.sink.complete());
+            subscribers.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.phonepe.leaderboard.lifecycle;
+
+import com.phonepe.leaderboard.config.LifecycleProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.data.model.LeaderboardStatus;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves leaderboards through their lifecycle: PENDING until startTime, ACTIVE until endTime, then SEALED.
+ * <p>
+ * Sealing copies the leaderboard's entries, ranked, into the archive and deletes them from the hot table in one
+ * transaction, then drops the leaderboard's rank index. The hot table and the indexes only ever hold leaderboards
+ * that can still change, and final standings are read by rank from the archive.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardLifecycleScheduler {
+
+    private final LifecycleProperties properties;
+    private final LeaderboardRepository leaderboardRepository;
+    private final LeaderboardArchiveRepository leaderboardArchiveRepository;
+    private final RankIndexRegistry rankIndexRegistry;
+    private final TransactionOperations transactionOperations;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "leaderboard-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            long interval = properties.getIntervalMs();
+            scheduler.scheduleWithFixedDelay(this::advance, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public void advance() {
+        try {
+            long now = System.currentTimeMillis();
+            int activated = leaderboardRepository.activateStarted(now);
+            if (activated > 0) {
+                log.info("Activated {} leaderboards", activated);
+            }
+            for (Leaderboard leaderboard: leaderboardRepository.findByStatusNotAndEndTimeLessThan(
+                    LeaderboardStatus.SEALED, now - properties.getSealDelayMs())) {
+                // a leaderboard that fails to seal is retried next tick without holding back the others
+                try {
+                    seal(leaderboard);
+                } catch (Exception e) {
+                    log.error("leaderboardId: {} could not be sealed", leaderboard.getId(), e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Could not advance leaderboard lifecycle", e);
+        }
+    }
+
+    private void seal(Leaderboard leaderboard) {
+        Integer archived = transactionOperations.execute(status -> {
+            // only one instance archives a leaderboard, a concurrent sealer finds it sealed already
+            if (leaderboardRepository.markSealed(leaderboard.getId()) == 0) {
+                return null;
+            }
+            return leaderboardArchiveRepository.archive(leaderboard.getId());
+        });
+        rankIndexRegistry.seal(leaderboard.getId());
+        if (archived != null) {
+            log.info("leaderboardId: {} sealed with {} entries archived", leaderboard.getId(), archived);
+        }
+    }
+
+}
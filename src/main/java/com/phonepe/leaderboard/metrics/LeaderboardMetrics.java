@@ -0,0 +1,129 @@
+package com.phonepe.leaderboard.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Meters for the leaderboard service and its JDBC repositories. Spring Data repositories are timed by Spring
+ * Boot itself under {@code spring.data.repository.invocations}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeaderboardMetrics {
+
+    public static final String SERVICE_TIMER = "leaderboard.service";
+    public static final String REPOSITORY_TIMER = "leaderboard.repository";
+    public static final String SCORES_COUNTER = "leaderboard.scores";
+    public static final String SIZE_GAUGE = "leaderboard.size";
+    public static final String COALESCED_READS_COUNTER = "leaderboard.coalesced.reads";
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    public static final String OUTCOME_ACCEPTED = "accepted";
+    public static final String OUTCOME_IGNORED = "ignored";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T timeService(String operation, Supplier<T> call) {
+        return time(SERVICE_TIMER, operation, call);
+    }
+
+    /**
+     * Times from subscription to completion, so that time spent waiting for the database or a worker thread is
+     * included while the calling event loop thread is not held.
+     */
+    public <T> Mono<T> timeService(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doOnSuccess(result -> stop(sample, SERVICE_TIMER, operation, OUTCOME_SUCCESS))
+                    .doOnError(e -> stop(sample, SERVICE_TIMER, operation, OUTCOME_ERROR));
+        });
+    }
+
+    public <T> Flux<T> timeService(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doOnComplete(() -> stop(sample, SERVICE_TIMER, operation, OUTCOME_SUCCESS))
+                    .doOnError(e -> stop(sample, SERVICE_TIMER, operation, OUTCOME_ERROR));
+        });
+    }
+
+    public <T> T timeRepository(String operation, Supplier<T> call) {
+        return time(REPOSITORY_TIMER, operation, call);
+    }
+
+    /**
+     * Counts score submissions per leaderboard they were applied to, accepted when they raised or created an
+     * entry and ignored when the leaderboard already held a score at least as high.
+     */
+    public void countScores(int accepted, int ignored) {
+        scoresCounter(OUTCOME_ACCEPTED).increment(accepted);
+        scoresCounter(OUTCOME_IGNORED).increment(ignored);
+    }
+
+    /**
+     * Counts reads answered without running them, by sharing an identical read in flight ({@code joined}) or its
+     * recently completed result ({@code cached}).
+     */
+    public void countCoalescedRead(String operation, String outcome) {
+        Counter.builder(COALESCED_READS_COUNTER)
+                .description("Reads answered with the result of an identical read")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Registering the same leaderboard again is a no-op, the gauge keeps sampling the first supplier.
+     */
+    public void registerLeaderboardSize(String leaderboardId, Supplier<Number> size) {
+        Gauge.builder(SIZE_GAUGE, size)
+                .description("Number of players ranked in the leaderboard")
+                .tag("leaderboardId", leaderboardId)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drops the leaderboard's gauge, so that sealed leaderboards do not leave a series behind for good.
+     */
+    public void removeLeaderboardSize(String leaderboardId) {
+        meterRegistry.find(SIZE_GAUGE).tag("leaderboardId", leaderboardId).meters().forEach(meterRegistry::remove);
+    }
+
+    private <T> T time(String name, String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.get();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            stop(sample, name, operation, outcome);
+        }
+    }
+
+    private void stop(Timer.Sample sample, String name, String operation, String outcome) {
+        sample.stop(Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter scoresCounter(String outcome) {
+        return Counter.builder(SCORES_COUNTER)
+                .description("Score submissions per leaderboard, by whether they changed the leaderboard")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
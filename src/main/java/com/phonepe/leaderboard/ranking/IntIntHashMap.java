@@ -0,0 +1,69 @@
+package com.phonepe.leaderboard.ranking;
+
+/**
+ * Open addressing map from non-negative int keys to int values, with no boxing and no per-entry objects. Keys are
+ * never removed. Not thread-safe, callers guard it with their own lock.
+ */
+final class IntIntHashMap {
+
+    private int[] keys; // key + 1, 0 marks an empty slot
+    private int[] values;
+    private int size;
+
+    IntIntHashMap() {
+        this(16);
+    }
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, expectedSize * 4 / 3)) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+    }
+
+    int get(int key, int missingValue) {
+        int slot = slotOf(keys, key);
+        return keys[slot] == 0 ? missingValue : values[slot];
+    }
+
+    /**
+     * @return the value previously mapped to the key, missingValue if there was none
+     */
+    int put(int key, int value, int missingValue) {
+        int slot = slotOf(keys, key);
+        if (keys[slot] != 0) {
+            int previous = values[slot];
+            values[slot] = value;
+            return previous;
+        }
+        keys[slot] = key + 1;
+        values[slot] = value;
+        if (++size * 4 > keys.length * 3) { // dense keys probe little even at three quarters full
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    private static int slotOf(int[] table, int key) {
+        int mask = table.length - 1;
+        int slot = (key * 0x9E3779B9) & mask; // an odd multiplier scatters dense keys without colliding them
+        while (table[slot] != 0 && table[slot] != key + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(keys, oldKeys[i] - 1);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+}
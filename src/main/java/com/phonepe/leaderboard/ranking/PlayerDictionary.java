@@ -0,0 +1,113 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Interns player ids into dense ints, shared by the rank indexes of a game's leaderboards so that a player ranked on
+ * several of them is stored once. Codes are never reused or released, the dictionary lives as long as the game has
+ * leaderboards that are not sealed.
+ * <p>
+ * Lookups take an optimistic read and only fall back to the read lock when an intern raced with them. Resolving a
+ * code is a plain array read: a code is only handed out after its id was stored, and rank indexes publish codes
+ * to their readers under their own locks.
+ */
+public class PlayerDictionary {
+
+    public static final int NO_CODE = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private int[] slots = new int[2048]; // open addressing over code + 1, 0 marks an empty slot
+    private volatile String[] playerIds = new String[1024];
+    private int size;
+
+    /**
+     * @return the player's code, assigning the next one if the player has none yet
+     */
+    public int intern(String playerId) {
+        int code = find(playerId);
+        if (code != NO_CODE) {
+            return code;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int slot = slotOf(slots, playerIds, playerId);
+            if (slots[slot] != 0) {
+                return slots[slot] - 1;
+            }
+            String[] current = playerIds;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = playerId;
+            playerIds = current;
+            slots[slot] = size + 1;
+            code = size++;
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+            return code;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @return the player's code, {@link #NO_CODE} if the player was never interned
+     */
+    public int find(String playerId) {
+        long stamp = lock.tryOptimisticRead();
+        int code = lookup(playerId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                code = lookup(playerId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return code;
+    }
+
+    public String playerId(int code) {
+        return playerIds[code];
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // may see a table torn by a concurrent intern, find() validates the result before trusting it
+    private int lookup(String playerId) {
+        int[] table = slots;
+        String[] ids = playerIds;
+        int slot = slotOf(table, ids, playerId);
+        return table[slot] == 0 ? NO_CODE : table[slot] - 1;
+    }
+
+    private static int slotOf(int[] table, String[] ids, String playerId) {
+        int mask = table.length - 1;
+        int hash = playerId.hashCode();
+        for (int slot = (hash ^ (hash >>> 16)) & mask; ; slot = (slot + 1) & mask) {
+            int entry = table[slot];
+            if (entry == 0 || (entry <= ids.length && playerId.equals(ids[entry - 1]))) {
+                return slot;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] table = new int[capacity];
+        String[] ids = playerIds;
+        for (int code = 0; code < size; code++) {
+            table[slotOf(table, ids, ids[code])] = code + 1;
+        }
+        slots = table;
+    }
+
+}
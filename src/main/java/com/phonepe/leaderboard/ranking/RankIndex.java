@@ -0,0 +1,81 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * In-memory rank index of a single leaderboard, ordered by (score desc, playerId asc), the same order the
+ * repository queries use.
+ * <p>
+ * An index only ever moves a player up (update-if-higher), which keeps it idempotent with respect to
+ * replays and out-of-order application of the same submissions. {@link #reset} is the one exception.
+ */
+public interface RankIndex {
+
+    /**
+     * Records the score for a player if it is higher than the one already indexed.
+     *
+     * @return true if the index changed
+     */
+    boolean offer(String playerId, int score);
+
+    /**
+     * Replaces the player's entry with the given score, even a lower one, or removes it if the score is empty.
+     * Only meant to bring the index back in line with the database after a score it had applied failed to persist.
+     */
+    void reset(String playerId, OptionalInt score);
+
+    /**
+     * Loads entries given in ranking order, without duplicate players, into an empty index in linear time.
+     *
+     * @throws IllegalStateException if the index is not empty or the entries break either rule
+     */
+    void loadSorted(Iterator<RankedEntry> entries);
+
+    OptionalInt score(String playerId);
+
+    int size();
+
+    /**
+     * Number of entries ranked strictly above the given (score, playerId) key.
+     */
+    int countAbove(int score, String playerId);
+
+    List<RankedEntry> top(int n);
+
+    /**
+     * Up to n entries ranked strictly below the given key, in ranking order.
+     */
+    List<RankedEntry> after(int score, String playerId, int n);
+
+    /**
+     * Up to n entries ranked strictly above the given key, in ranking order (highest score first).
+     */
+    List<RankedEntry> before(int score, String playerId, int n);
+
+    /**
+     * The player's entry and rank with up to above entries ranked just before it and up to below just after it.
+     * Implementations that can resolve the player's position once and read both directions from it should.
+     * <p>
+     * The default reads the score, rank and both directions through separate calls, so it is only consistent if
+     * no write lands in between: implementations whose calls lock independently override it.
+     *
+     * @return empty if the player is not indexed
+     */
+    default Optional<RankNeighborhood> around(String playerId, int above, int below) {
+        OptionalInt score = score(playerId);
+        if (score.isEmpty()) {
+            return Optional.empty();
+        }
+        int playerScore = score.getAsInt();
+        return Optional.of(new RankNeighborhood(
+                new RankedEntry(playerId, playerScore),
+                countAbove(playerScore, playerId) + 1,
+                before(playerScore, playerId, above),
+                after(playerScore, playerId, below)
+        ));
+    }
+
+}
@@ -0,0 +1,302 @@
+package com.phonepe.leaderboard.ranking;
+
+import com.phonepe.leaderboard.config.RankingProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.data.model.LeaderboardStatus;
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.eventlog.ScoreEventLog;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import com.phonepe.leaderboard.repository.LeaderboardEntryBatchRepository;
+import com.phonepe.leaderboard.repository.LeaderboardEntryRepository;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import com.phonepe.leaderboard.snapshot.RankSnapshotStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Holds one {@link RankIndex} per leaderboard. The database stays the durable store; the indexes are
+ * rebuilt on startup and kept up to date by score submissions.
+ * <p>
+ * When snapshots and the score event log are both enabled, the indexes are bulk loaded from the latest snapshot and
+ * the log is replayed from the time it was taken, instead of reading every entry back from the database. Leaderboards the
+ * database no longer holds are written back to it in the background.
+ * <p>
+ * Sealed leaderboards have no index: their final standings are read from the archive.
+ * <p>
+ * The indexes of a game's leaderboards share one {@link PlayerDictionary}, so a player ranked on several of them is
+ * stored once. Codes are never released, so the dictionary is dropped with the game's last unsealed leaderboard.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankIndexRegistry {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final LeaderboardEntryRepository leaderboardEntryRepository;
+    private final LeaderboardMetrics leaderboardMetrics;
+    private final RankingProperties rankingProperties;
+    private final RankSnapshotStore rankSnapshotStore;
+    private final ScoreEventLog scoreEventLog;
+    private final LeaderboardEntryBatchRepository leaderboardEntryBatchRepository;
+
+    // submissions logged slightly before takenAt may be missing from the snapshot's later pages
+    public static final long REPLAY_OVERLAP_MS = 10_000;
+    private static final int BACKFILL_BATCH_SIZE = 1_000;
+
+    private final Map<String, TopKRankIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<String, PlayerDictionary> dictionaries = new ConcurrentHashMap<>(); // by game
+    private final Map<String, String> gameIds = new ConcurrentHashMap<>(); // game of every indexed leaderboard
+    private final Set<String> sealed = ConcurrentHashMap.newKeySet();
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "rank-index-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void rebuild() {
+        Map<String, Leaderboard> stored = new HashMap<>();
+        for (Leaderboard leaderboard: leaderboardRepository.findAll()) {
+            if (leaderboard.getStatus() == LeaderboardStatus.SEALED) {
+                sealed.add(leaderboard.getId());
+            } else {
+                stored.put(leaderboard.getId(), leaderboard);
+            }
+        }
+        Set<String> restored = Set.of();
+        if (rankSnapshotStore.isEnabled() && scoreEventLog.isEnabled()) {
+            restored = restoreFromSnapshot(stored);
+        } else if (rankSnapshotStore.isEnabled()) {
+            log.warn("Score event log is disabled, snapshots would miss every score submitted after them, rebuilding from the database");
+        }
+
+        for (Leaderboard leaderboard: stored.values()) {
+            if (restored.contains(leaderboard.getId())) {
+                continue;
+            }
+            TopKRankIndex index = newIndex(leaderboard.getId(), leaderboard.getGameId());
+            List<RankedEntry> entries = leaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(leaderboard.getId());
+            for (RankedEntry entry: entries) {
+                index.offer(entry.playerId(), entry.score());
+            }
+            indexes.put(leaderboard.getId(), index);
+            registerSizeGauge(leaderboard.getId());
+            log.info("leaderboardId: {} rank index rebuilt with {} entries", leaderboard.getId(), index.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private Set<String> restoreFromSnapshot(Map<String, Leaderboard> stored) {
+        Map<String, TopKRankIndex> loaded = new HashMap<>();
+        List<Leaderboard> missing = new ArrayList<>();
+        OptionalLong takenAt;
+        try {
+            takenAt = rankSnapshotStore.restoreLatest((leaderboard, entries) -> {
+                if (sealed.contains(leaderboard.getId())) {
+                    return; // sealed after the snapshot was taken
+                }
+                TopKRankIndex index = newIndex(leaderboard.getId(), leaderboard.getGameId());
+                index.loadSorted(entries);
+                loaded.put(leaderboard.getId(), index);
+                if (!stored.containsKey(leaderboard.getId())) {
+                    missing.add(leaderboard);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Could not restore rank indexes from snapshot, rebuilding from the database", e);
+            gameIds.keySet().removeAll(loaded.keySet());
+            return Set.of();
+        }
+        if (takenAt.isEmpty()) {
+            return Set.of();
+        }
+
+        long replayed = replaySince(takenAt.getAsLong() - REPLAY_OVERLAP_MS, loaded);
+        log.info("Replayed {} logged scores newer than the snapshot", replayed);
+
+        for (Leaderboard leaderboard: missing) {
+            leaderboardRepository.insert(leaderboard.getId(), leaderboard.getGameId(), leaderboard.getStartTime(), leaderboard.getEndTime());
+            stored.put(leaderboard.getId(), leaderboard);
+            backfillExecutor.execute(() -> {
+                try {
+                    backfill(leaderboard.getId(), loaded.get(leaderboard.getId()));
+                } catch (Exception e) {
+                    log.error("leaderboardId: {} could not be backfilled from snapshot", leaderboard.getId(), e);
+                }
+            });
+        }
+        loaded.forEach((leaderboardId, index) -> {
+            indexes.put(leaderboardId, index);
+            registerSizeGauge(leaderboardId);
+            log.info("leaderboardId: {} rank index restored with {} entries", leaderboardId, index.size());
+        });
+        return loaded.keySet();
+    }
+
+    // indexes are update-if-higher, so replaying a score that is already in the snapshot is harmless
+    private long replaySince(long fromTimestamp, Map<String, TopKRankIndex> loaded) {
+        long[] replayed = new long[1];
+        scoreEventLog.scan(fromTimestamp, Long.MAX_VALUE, event -> {
+            TopKRankIndex index = loaded.get(event.leaderboardId());
+            if (event.accepted() && index != null) {
+                index.offer(event.playerId(), event.score());
+                replayed[0]++;
+            }
+        });
+        return replayed[0];
+    }
+
+    // pages through the index like the snapshot writer, submissions racing with it are upserts as well
+    private void backfill(String leaderboardId, RankIndex index) {
+        long written = 0;
+        List<RankedEntry> page = index.top(BACKFILL_BATCH_SIZE);
+        while (!page.isEmpty()) {
+            List<ScoreUpdate> updates = new ArrayList<>(page.size());
+            for (RankedEntry entry: page) {
+                updates.add(new ScoreUpdate(leaderboardId, entry.playerId(), entry.score()));
+            }
+            leaderboardEntryBatchRepository.upsertIfHigher(updates);
+            written += page.size();
+
+            RankedEntry last = page.get(page.size() - 1);
+            page = index.after(last.score(), last.playerId(), BACKFILL_BATCH_SIZE);
+        }
+        log.info("leaderboardId: {} backfilled {} entries from snapshot into the database", leaderboardId, written);
+    }
+
+    /**
+     * Registers the index of a new leaderboard once the transaction creating it commits, so a leaderboard that is
+     * rolled back leaves no index, size gauge or player dictionary behind. Registers immediately when there is no
+     * transaction.
+     */
+    public void registerAfterCommit(String leaderboardId, String gameId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            register(leaderboardId, gameId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                register(leaderboardId, gameId);
+            }
+        });
+    }
+
+    // scores committed before the index was published found no index to raise, they are read back once it is
+    private void register(String leaderboardId, String gameId) {
+        TopKRankIndex index = indexes.computeIfAbsent(leaderboardId, id -> newIndex(id, gameId));
+        registerSizeGauge(leaderboardId);
+        try {
+            for (RankedEntry entry: leaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(leaderboardId)) {
+                index.offer(entry.playerId(), entry.score());
+            }
+        } catch (RuntimeException e) {
+            log.error("leaderboardId: {} failed to load entries submitted before its rank index was registered", leaderboardId, e);
+        }
+    }
+
+    /**
+     * Drops the leaderboard's index once its final standings are archived, reads go to the archive from then on.
+     * Sealing the game's last indexed leaderboard drops the game's player dictionary as well.
+     */
+    public void seal(String leaderboardId) {
+        sealed.add(leaderboardId);
+        indexes.remove(leaderboardId);
+        leaderboardMetrics.removeLeaderboardSize(leaderboardId);
+        String gameId = gameIds.remove(leaderboardId);
+        if (gameId != null) {
+            dictionaries.computeIfPresent(gameId, (id, dictionary) -> gameIds.containsValue(id) ? dictionary : null);
+        }
+    }
+
+    public boolean isSealed(String leaderboardId) {
+        return sealed.contains(leaderboardId);
+    }
+
+    // the leaderboard is recorded before the dictionary is looked up, so a concurrent seal keeps the dictionary
+    private TopKRankIndex newIndex(String leaderboardId, String gameId) {
+        gameIds.put(leaderboardId, gameId);
+        PlayerDictionary playerDictionary = dictionaries.computeIfAbsent(gameId, id -> new PlayerDictionary());
+        RankIndex engine = switch (rankingProperties.getEngine()) {
+            case SKIP_LIST -> new SkipListRankIndex(playerDictionary);
+            case SHARDED -> new ShardedRankIndex(shardCount(), playerDictionary);
+        };
+        return new TopKRankIndex(engine, rankingProperties.getTopSnapshotSize());
+    }
+
+    private int shardCount() {
+        int shards = rankingProperties.getShards();
+        return shards > 0 ? shards : Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+    }
+
+    // samples whichever index is current, so the gauge survives rebuilds
+    private void registerSizeGauge(String leaderboardId) {
+        leaderboardMetrics.registerLeaderboardSize(leaderboardId, () -> find(leaderboardId).map(RankIndex::size).orElse(0));
+    }
+
+    public Optional<RankIndex> find(String leaderboardId) {
+        return Optional.ofNullable(indexes.get(leaderboardId));
+    }
+
+    public Optional<TopKRankIndex> findTopK(String leaderboardId) {
+        return Optional.ofNullable(indexes.get(leaderboardId));
+    }
+
+    /**
+     * Applies a score to the leaderboard's index once the surrounding transaction commits, so readers never
+     * see a score that was rolled back. Applies immediately when there is no transaction.
+     */
+    public void offerAfterCommit(String leaderboardId, String playerId, int score) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            offer(leaderboardId, playerId, score);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                offer(leaderboardId, playerId, score);
+            }
+        });
+    }
+
+    /**
+     * Resets the player's entry to the score the database holds, after a score applied ahead of its write was
+     * not persisted.
+     */
+    public void reloadPlayer(String leaderboardId, String playerId) {
+        TopKRankIndex index = indexes.get(leaderboardId);
+        if (index == null) {
+            return;
+        }
+        try {
+            OptionalInt score = leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, playerId)
+                    .map(entry -> OptionalInt.of(entry.score()))
+                    .orElse(OptionalInt.empty());
+            index.reset(playerId, score);
+        } catch (RuntimeException e) {
+            log.error("leaderboardId: {} failed to reload playerId: {} from the database", leaderboardId, playerId, e);
+        }
+    }
+
+    private void offer(String leaderboardId, String playerId, int score) {
+        TopKRankIndex index = indexes.get(leaderboardId);
+        if (index != null) {
+            index.offer(playerId, score);
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.List;
+
+/**
+ * A player's entry and rank with the entries ranked around it, see {@link RankIndex#around(String, int, int)}.
+ *
+ * @param rank  1-based position of the entry
+ * @param above entries ranked just before the entry, in ranking order
+ * @param below entries ranked just after the entry, in ranking order
+ */
+public record RankNeighborhood(RankedEntry entry, int rank, List<RankedEntry> above, List<RankedEntry> below) {
+}
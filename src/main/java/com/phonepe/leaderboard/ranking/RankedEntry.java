@@ -0,0 +1,7 @@
+package com.phonepe.leaderboard.ranking;
+
+/**
+ * Immutable (playerId, score) pair as held by a {@link RankIndex}.
+ */
+public record RankedEntry(String playerId, int score) {
+}
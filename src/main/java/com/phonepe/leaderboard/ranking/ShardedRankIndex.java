@@ -0,0 +1,160 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.stream.IntStream;
+
+/**
+ * {@link RankIndex} partitioned by player hash into independently locked {@link SkipListRankIndex} shards, so
+ * that writes for different players of the same leaderboard scale with the number of shards instead of
+ * serializing on one lock.
+ * <p>
+ * Rank and neighbour queries merge the shards: a rank is the sum of the per-shard ranks, and N neighbours are
+ * the best N of each shard's N neighbours. Lock-free top-N reads come from wrapping the index in a
+ * {@link TopKRankIndex}.
+ */
+public class ShardedRankIndex implements RankIndex {
+
+    private static final Comparator<RankedEntry> RANKING_ORDER =
+            Comparator.comparingInt(RankedEntry::score).reversed().thenComparing(RankedEntry::playerId);
+
+    private final SkipListRankIndex[] shards;
+    private final int shardMask;
+
+    public ShardedRankIndex(int shardCount) {
+        this(shardCount, new PlayerDictionary());
+    }
+
+    /**
+     * @param shardCount number of shards, a power of two
+     * @param playerDictionary dictionary shared by the shards
+     */
+    public ShardedRankIndex(int shardCount, PlayerDictionary playerDictionary) {
+        if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a power of two.");
+        }
+        this.shards = new SkipListRankIndex[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new SkipListRankIndex(playerDictionary);
+        }
+        this.shardMask = shardCount - 1;
+    }
+
+    @Override
+    public boolean offer(String playerId, int score) {
+        return shardFor(playerId).offer(playerId, score);
+    }
+
+    @Override
+    public void reset(String playerId, OptionalInt score) {
+        shardFor(playerId).reset(playerId, score);
+    }
+
+    // each shard receives an ordered subsequence, so the shards load independently and in parallel
+    @Override
+    public void loadSorted(Iterator<RankedEntry> entries) {
+        if (size() != 0) {
+            throw new IllegalStateException("Rank index is not empty.");
+        }
+        List<List<RankedEntry>> partitions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        while (entries.hasNext()) {
+            RankedEntry entry = entries.next();
+            partitions.get(shardIndex(entry.playerId())).add(entry);
+        }
+        IntStream.range(0, shards.length)
+                .parallel()
+                .forEach(i -> shards[i].loadSorted(partitions.get(i).iterator()));
+    }
+
+    @Override
+    public OptionalInt score(String playerId) {
+        return shardFor(playerId).score(playerId);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (SkipListRankIndex shard: shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    @Override
+    public int countAbove(int score, String playerId) {
+        int rank = 0;
+        for (SkipListRankIndex shard: shards) {
+            rank += shard.countAbove(score, playerId);
+        }
+        return rank;
+    }
+
+    @Override
+    public List<RankedEntry> top(int n) {
+        List<RankedEntry> merged = new ArrayList<>();
+        for (SkipListRankIndex shard: shards) {
+            merged.addAll(shard.top(n));
+        }
+        return firstInRankingOrder(merged, n);
+    }
+
+    @Override
+    public List<RankedEntry> after(int score, String playerId, int n) {
+        List<RankedEntry> merged = new ArrayList<>();
+        for (SkipListRankIndex shard: shards) {
+            merged.addAll(shard.after(score, playerId, n));
+        }
+        return firstInRankingOrder(merged, n);
+    }
+
+    @Override
+    public List<RankedEntry> before(int score, String playerId, int n) {
+        List<RankedEntry> merged = new ArrayList<>();
+        for (SkipListRankIndex shard: shards) {
+            merged.addAll(shard.before(score, playerId, n));
+        }
+        merged.sort(RANKING_ORDER);
+        return merged.subList(Math.max(0, merged.size() - n), merged.size());
+    }
+
+    /**
+     * Holds the read lock of every shard, taken in shard order, while the player's score, rank and neighbours are
+     * read, so that they all come from one state of the index. Writers only ever lock a single shard, so taking all
+     * of them cannot deadlock.
+     */
+    @Override
+    public Optional<RankNeighborhood> around(String playerId, int above, int below) {
+        for (SkipListRankIndex shard: shards) {
+            shard.readLock().lock();
+        }
+        try {
+            return RankIndex.super.around(playerId, above, below);
+        } finally {
+            for (SkipListRankIndex shard: shards) {
+                shard.readLock().unlock();
+            }
+        }
+    }
+
+    private SkipListRankIndex shardFor(String playerId) {
+        return shards[shardIndex(playerId)];
+    }
+
+    private int shardIndex(String playerId) {
+        int hash = playerId.hashCode();
+        return (hash ^ (hash >>> 16)) & shardMask;
+    }
+
+    private static List<RankedEntry> firstInRankingOrder(List<RankedEntry> entries, int n) {
+        entries.sort(RANKING_ORDER);
+        return entries.size() <= n ? entries : entries.subList(0, n);
+    }
+
+}
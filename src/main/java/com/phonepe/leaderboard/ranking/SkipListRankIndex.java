@@ -0,0 +1,455 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link RankIndex} over a single indexable skip list, guarded by one read-write lock.
+ * <p>
+ * Every forward link carries its span, so rank lookups and seeks are O(log n) and reading N neighbours
+ * of a position is O(log n + N).
+ * <p>
+ * Nodes are not objects: a node is an int indexing parallel primitive arrays, its player is a
+ * {@link PlayerDictionary} code, and only the one in four nodes promoted above level 0 owns links in a shared
+ * pool. Level-0 links always span one node, so their spans are not stored. An entry costs a few dozen bytes, with
+ * no strings, boxed scores or per-entry objects.
+ */
+public class SkipListRankIndex implements RankIndex {
+
+    private static final int MAX_LEVEL = 32;
+    private static final int LEVEL_PROBABILITY_BOUND = 4; // 1 in 4 nodes is promoted to the next level
+
+    private static final int HEAD = 0; // no node links to the head, so 0 also stands for no node
+    private static final int NIL = 0;
+    private static final int NO_LINKS = -1;
+
+    private final PlayerDictionary playerDictionary;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntIntHashMap nodesByPlayer = new IntIntHashMap(); // player code -> node
+
+    // node columns
+    private int[] scores = new int[16];
+    private int[] players = new int[16];
+    private int[] nexts = new int[16]; // successor at level 0
+    private int[] prevs = new int[16]; // predecessor at level 0, NIL for the first node
+    private byte[] heights = new byte[16];
+    private int[] uppers = new int[16]; // offset of the node's links above level 0, NO_LINKS if it has none
+    private int allocatedNodes = 1;
+    private int freeNodes = NIL; // released nodes, chained through nexts
+
+    // (successor, span) pairs for levels 1 and up, packed per node and recycled per height
+    private int[] links = new int[2 * (MAX_LEVEL - 1) + 64];
+    private int allocatedLinks;
+    private final int[] freeLinks = new int[MAX_LEVEL + 1]; // released links by height, chained through the first int
+
+    private int level = 1;
+    private int size;
+
+    public SkipListRankIndex() {
+        this(new PlayerDictionary());
+    }
+
+    public SkipListRankIndex(PlayerDictionary playerDictionary) {
+        this.playerDictionary = playerDictionary;
+        Arrays.fill(freeLinks, NO_LINKS);
+        heights[HEAD] = MAX_LEVEL;
+        uppers[HEAD] = allocateLinks(MAX_LEVEL);
+    }
+
+    @Override
+    public boolean offer(String playerId, int score) {
+        int player = playerDictionary.intern(playerId);
+        lock.writeLock().lock();
+        try {
+            int current = nodesByPlayer.get(player, NIL);
+            if (current != NIL) {
+                if (score <= scores[current]) {
+                    return false;
+                }
+                delete(current, playerId);
+            }
+            nodesByPlayer.put(player, insert(score, player, playerId), NIL);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void reset(String playerId, OptionalInt score) {
+        int player = playerDictionary.intern(playerId);
+        lock.writeLock().lock();
+        try {
+            int current = nodesByPlayer.get(player, NIL);
+            if (current != NIL) {
+                delete(current, playerId);
+            }
+            // the player keeps its code, a missing entry maps to NIL
+            nodesByPlayer.put(player, score.isPresent() ? insert(score.getAsInt(), player, playerId) : NIL, NIL);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // appends every entry after the current tail of each level, no searching and no comparisons beyond the order check
+    @Override
+    public void loadSorted(Iterator<RankedEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            if (size != 0) {
+                throw new IllegalStateException("Rank index is not empty.");
+            }
+            int[] tails = new int[MAX_LEVEL];
+            int[] tailRanks = new int[MAX_LEVEL];
+            int last = NIL;
+            while (entries.hasNext()) {
+                RankedEntry entry = entries.next();
+                if (last != NIL && !precedes(last, entry.score(), entry.playerId())) {
+                    throw new IllegalStateException("Entries are not in ranking order.");
+                }
+                int player = playerDictionary.intern(entry.playerId());
+                if (nodesByPlayer.get(player, NIL) != NIL) {
+                    throw new IllegalStateException("Entries repeat a player.");
+                }
+                int node = allocateNode(player, entry.score(), randomLevel());
+                nodesByPlayer.put(player, node, NIL);
+                int rank = size + 1;
+                for (int i = 0; i < heights[node]; i++) {
+                    setNext(tails[i], i, node);
+                    setSpan(tails[i], i, rank - tailRanks[i]);
+                    tails[i] = node;
+                    tailRanks[i] = rank;
+                }
+                prevs[node] = last;
+                last = node;
+                level = Math.max(level, heights[node]);
+                size = rank;
+            }
+            for (int i = 0; i < level; i++) {
+                setSpan(tails[i], i, size - tailRanks[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public OptionalInt score(String playerId) {
+        int player = playerDictionary.find(playerId);
+        if (player == PlayerDictionary.NO_CODE) {
+            return OptionalInt.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int node = nodesByPlayer.get(player, NIL);
+            return node == NIL ? OptionalInt.empty() : OptionalInt.of(scores[node]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countAbove(int score, String playerId) {
+        lock.readLock().lock();
+        try {
+            return rankAbove(score, playerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The player's node is found through the player map, its neighbours are read by walking the level-0 links out
+     * of it in both directions, and only the rank takes a descent, all under a single read lock.
+     */
+    @Override
+    public Optional<RankNeighborhood> around(String playerId, int above, int below) {
+        int player = playerDictionary.find(playerId);
+        if (player == PlayerDictionary.NO_CODE) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int node = nodesByPlayer.get(player, NIL);
+            if (node == NIL) {
+                return Optional.empty();
+            }
+            List<RankedEntry> before = new ArrayList<>(Math.min(above, size));
+            for (int x = prevs[node]; x != NIL && before.size() < above; x = prevs[x]) {
+                before.add(toEntry(x));
+            }
+            Collections.reverse(before);
+            return Optional.of(new RankNeighborhood(
+                    toEntry(node),
+                    rankAbove(scores[node], playerId) + 1,
+                    before,
+                    collectForward(nexts[node], below)
+            ));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedEntry> top(int n) {
+        lock.readLock().lock();
+        try {
+            return collectForward(nexts[HEAD], n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedEntry> after(int score, String playerId, int n) {
+        lock.readLock().lock();
+        try {
+            int x = HEAD;
+            for (int i = level - 1; i >= 0; i--) {
+                while (next(x, i) != NIL && !follows(next(x, i), score, playerId)) {
+                    x = next(x, i);
+                }
+            }
+            return collectForward(nexts[x], n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<RankedEntry> before(int score, String playerId, int n) {
+        lock.readLock().lock();
+        try {
+            int x = HEAD;
+            for (int i = level - 1; i >= 0; i--) {
+                while (next(x, i) != NIL && precedes(next(x, i), score, playerId)) {
+                    x = next(x, i);
+                }
+            }
+            List<RankedEntry> entries = new ArrayList<>(Math.min(n, size));
+            for (int node = x; node != NIL && entries.size() < n; node = prevs[node]) {
+                entries.add(toEntry(node));
+            }
+            Collections.reverse(entries);
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // lets a sharded index hold every shard still across several queries, the read lock is reentrant
+    ReentrantReadWriteLock.ReadLock readLock() {
+        return lock.readLock();
+    }
+
+    private int rankAbove(int score, String playerId) {
+        int rank = 0;
+        int x = HEAD;
+        for (int i = level - 1; i >= 0; i--) {
+            while (next(x, i) != NIL && precedes(next(x, i), score, playerId)) {
+                rank += span(x, i);
+                x = next(x, i);
+            }
+        }
+        return rank;
+    }
+
+    private List<RankedEntry> collectForward(int from, int n) {
+        List<RankedEntry> entries = new ArrayList<>(Math.min(n, size));
+        for (int node = from; node != NIL && entries.size() < n; node = nexts[node]) {
+            entries.add(toEntry(node));
+        }
+        return entries;
+    }
+
+    private RankedEntry toEntry(int node) {
+        return new RankedEntry(playerDictionary.playerId(players[node]), scores[node]);
+    }
+
+    private int insert(int score, int player, String playerId) {
+        int[] update = new int[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+        int x = HEAD;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (next(x, i) != NIL && precedes(next(x, i), score, playerId)) {
+                rank[i] += span(x, i);
+                x = next(x, i);
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = HEAD;
+                setSpan(HEAD, i, size);
+            }
+            level = nodeLevel;
+        }
+
+        int node = allocateNode(player, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            setNext(node, i, next(update[i], i));
+            setNext(update[i], i, node);
+            setSpan(node, i, span(update[i], i) - (rank[0] - rank[i]));
+            setSpan(update[i], i, (rank[0] - rank[i]) + 1);
+        }
+        for (int i = nodeLevel; i < level; i++) {
+            setSpan(update[i], i, span(update[i], i) + 1);
+        }
+
+        prevs[node] = update[0];
+        if (nexts[node] != NIL) {
+            prevs[nexts[node]] = node;
+        }
+        size++;
+        return node;
+    }
+
+    private void delete(int node, String playerId) {
+        int score = scores[node];
+        int[] update = new int[MAX_LEVEL];
+        int x = HEAD;
+        for (int i = level - 1; i >= 0; i--) {
+            while (next(x, i) != NIL && precedes(next(x, i), score, playerId)) {
+                x = next(x, i);
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (next(update[i], i) == node) {
+                setSpan(update[i], i, span(update[i], i) + span(node, i) - 1);
+                setNext(update[i], i, next(node, i));
+            } else {
+                setSpan(update[i], i, span(update[i], i) - 1);
+            }
+        }
+        if (nexts[node] != NIL) {
+            prevs[nexts[node]] = prevs[node];
+        }
+        while (level > 1 && next(HEAD, level - 1) == NIL) {
+            level--;
+        }
+        releaseNode(node);
+        size--;
+    }
+
+    private int next(int node, int level) {
+        return level == 0 ? nexts[node] : links[uppers[node] + 2 * (level - 1)];
+    }
+
+    private void setNext(int node, int level, int next) {
+        if (level == 0) {
+            nexts[node] = next;
+        } else {
+            links[uppers[node] + 2 * (level - 1)] = next;
+        }
+    }
+
+    private int span(int node, int level) {
+        return level == 0 ? 1 : links[uppers[node] + 2 * (level - 1) + 1];
+    }
+
+    // level-0 spans are 1 wherever there is a successor, and never read where there is none
+    private void setSpan(int node, int level, int span) {
+        if (level > 0) {
+            links[uppers[node] + 2 * (level - 1) + 1] = span;
+        }
+    }
+
+    private int allocateNode(int player, int score, int height) {
+        int node = freeNodes;
+        if (node != NIL) {
+            freeNodes = nexts[node];
+        } else {
+            if (allocatedNodes == scores.length) {
+                growNodes();
+            }
+            node = allocatedNodes++;
+        }
+        scores[node] = score;
+        players[node] = player;
+        nexts[node] = NIL;
+        prevs[node] = NIL;
+        heights[node] = (byte) height;
+        uppers[node] = height > 1 ? allocateLinks(height) : NO_LINKS;
+        return node;
+    }
+
+    private void releaseNode(int node) {
+        if (heights[node] > 1) {
+            links[uppers[node]] = freeLinks[heights[node]];
+            freeLinks[heights[node]] = uppers[node];
+        }
+        nexts[node] = freeNodes;
+        freeNodes = node;
+    }
+
+    private int allocateLinks(int height) {
+        int length = 2 * (height - 1);
+        int offset = freeLinks[height];
+        if (offset != NO_LINKS) {
+            freeLinks[height] = links[offset];
+        } else {
+            if (allocatedLinks + length > links.length) {
+                links = Arrays.copyOf(links, Math.max(links.length * 2, allocatedLinks + length));
+            }
+            offset = allocatedLinks;
+            allocatedLinks += length;
+        }
+        Arrays.fill(links, offset, offset + length, 0);
+        return offset;
+    }
+
+    private void growNodes() {
+        int capacity = scores.length + (scores.length >> 1);
+        scores = Arrays.copyOf(scores, capacity);
+        players = Arrays.copyOf(players, capacity);
+        nexts = Arrays.copyOf(nexts, capacity);
+        prevs = Arrays.copyOf(prevs, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        uppers = Arrays.copyOf(uppers, capacity);
+    }
+
+    private static int randomLevel() {
+        int nodeLevel = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (nodeLevel < MAX_LEVEL && random.nextInt(LEVEL_PROBABILITY_BOUND) == 0) {
+            nodeLevel++;
+        }
+        return nodeLevel;
+    }
+
+    // true if node is ranked strictly above the (score, playerId) key
+    private boolean precedes(int node, int score, String playerId) {
+        return scores[node] > score
+                || (scores[node] == score && playerDictionary.playerId(players[node]).compareTo(playerId) < 0);
+    }
+
+    // true if node is ranked strictly below the (score, playerId) key
+    private boolean follows(int node, int score, String playerId) {
+        return scores[node] < score
+                || (scores[node] == score && playerDictionary.playerId(players[node]).compareTo(playerId) > 0);
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.phonepe.leaderboard.ranking;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the top K entries of the wrapped {@link RankIndex} as a {@link TopKSnapshot}, published copy-on-write
+ * through a volatile reference. Top-N reads with N up to K read the snapshot without touching the wrapped index
+ * or taking any lock, and its pre-encoded JSON spares the serialization as well.
+ * <p>
+ * Only writes that cross the current K-th entry republish the snapshot, which on a large leaderboard is a small
+ * fraction of them.
+ */
+public class TopKRankIndex implements RankIndex {
+
+    private final RankIndex delegate;
+    private final int capacity;
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private volatile TopKSnapshot snapshot = TopKSnapshot.EMPTY;
+    private final LongAdder changes = new LongAdder(); // striped, concurrent writers do not contend on it
+
+    public TopKRankIndex(RankIndex delegate, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Snapshot capacity must be positive.");
+        }
+        this.delegate = delegate;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public boolean offer(String playerId, int score) {
+        if (!delegate.offer(playerId, score)) {
+            return false;
+        }
+        changes.increment();
+        if (entersSnapshot(score, playerId)) {
+            publishSnapshot();
+        }
+        return true;
+    }
+
+    // a reset may move a player out of the snapshot, which entersSnapshot cannot tell, so it always republishes
+    @Override
+    public void reset(String playerId, OptionalInt score) {
+        delegate.reset(playerId, score);
+        changes.increment();
+        publishSnapshot();
+    }
+
+    @Override
+    public void loadSorted(Iterator<RankedEntry> entries) {
+        delegate.loadSorted(entries);
+        changes.increment();
+        publishSnapshot();
+    }
+
+    @Override
+    public OptionalInt score(String playerId) {
+        return delegate.score(playerId);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public int countAbove(int score, String playerId) {
+        return delegate.countAbove(score, playerId);
+    }
+
+    @Override
+    public List<RankedEntry> top(int n) {
+        if (n > capacity) {
+            return delegate.top(n);
+        }
+        List<RankedEntry> entries = snapshot.entries();
+        return entries.subList(0, Math.min(n, entries.size()));
+    }
+
+    /**
+     * JSON array of the top n entries, empty if n is beyond the snapshot capacity.
+     */
+    public Optional<byte[]> topJson(int n) {
+        return n > capacity ? Optional.empty() : Optional.of(snapshot.json(n));
+    }
+
+    public TopKSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Grows with every accepted score, an unchanged count means no rank in the index changed in between.
+     */
+    public long changeCount() {
+        return changes.sum();
+    }
+
+    @Override
+    public List<RankedEntry> after(int score, String playerId, int n) {
+        return delegate.after(score, playerId, n);
+    }
+
+    @Override
+    public List<RankedEntry> before(int score, String playerId, int n) {
+        return delegate.before(score, playerId, n);
+    }
+
+    @Override
+    public Optional<RankNeighborhood> around(String playerId, int above, int below) {
+        return delegate.around(playerId, above, below);
+    }
+
+    // scores only go up, so a key that ranks below a published snapshot can never be part of a later one
+    private boolean entersSnapshot(int score, String playerId) {
+        List<RankedEntry> entries = snapshot.entries();
+        if (entries.size() < capacity) {
+            return true;
+        }
+        RankedEntry last = entries.get(entries.size() - 1);
+        return score > last.score() || (score == last.score() && playerId.compareTo(last.playerId()) < 0);
+    }
+
+    // publications are serialized, each one reads the index after the write that triggered it, so the last one wins
+    private void publishSnapshot() {
+        publishLock.lock();
+        try {
+            snapshot = TopKSnapshot.of(delegate.top(capacity));
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.phonepe.leaderboard.ranking;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable top entries of a leaderboard together with their JSON encoding, a {@code [{"playerId":..,"score":..}]}
+ * array matching {@link com.phonepe.leaderboard.data.response.LeaderboardEntryResponse}.
+ * <p>
+ * The encoding records where every element ends, so the JSON of the top N entries is a copy of a prefix of the
+ * encoded snapshot followed by the closing bracket.
+ */
+public final class TopKSnapshot {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    static final TopKSnapshot EMPTY = of(List.of());
+
+    private final List<RankedEntry> entries;
+    private final byte[] json;
+    private final int[] elementEnds; // offset just past the i-th element in json
+
+    private TopKSnapshot(List<RankedEntry> entries, byte[] json, int[] elementEnds) {
+        this.entries = entries;
+        this.json = json;
+        this.elementEnds = elementEnds;
+    }
+
+    public static TopKSnapshot of(List<RankedEntry> entries) {
+        int[] elementEnds = new int[entries.size()];
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + entries.size() * 40);
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < entries.size(); i++) {
+                RankedEntry entry = entries.get(i);
+                generator.writeStartObject();
+                generator.writeStringField("playerId", entry.playerId());
+                generator.writeNumberField("score", entry.score());
+                generator.writeEndObject();
+                generator.flush();
+                elementEnds[i] = out.size();
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream, not expected
+        }
+        return new TopKSnapshot(List.copyOf(entries), out.toByteArray(), elementEnds);
+    }
+
+    public List<RankedEntry> entries() {
+        return entries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * JSON array of the top n entries, or of the whole snapshot if it holds fewer. The returned array is a copy.
+     */
+    public byte[] json(int n) {
+        if (n <= 0 || entries.isEmpty()) {
+            return new byte[]{'[', ']'};
+        }
+        int end = elementEnds[Math.min(n, entries.size()) - 1];
+        byte[] prefix = Arrays.copyOf(json, end + 1);
+        prefix[end] = ']';
+        return prefix;
+    }
+
+}
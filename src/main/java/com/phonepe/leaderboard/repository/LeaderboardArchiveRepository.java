@@ -0,0 +1,144 @@
+package com.phonepe.leaderboard.repository;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC access to leaderboard_archive_entries, the final standings of sealed leaderboards.
+ * <p>
+ * Every archived entry carries its rank, so reads address entries by rank range on the primary key instead of
+ * seeking by (score, playerId) and counting.
+ */
+@Repository
+public class LeaderboardArchiveRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String ARCHIVE_SQL = """
+        insert into leaderboard_archive_entries (leaderboard_id, player_rank, player_id, score)
+        select leaderboard_id, row_number() over (order by score desc, player_id asc), player_id, score
+        from leaderboard_entries
+        where leaderboard_id = ?
+    """;
+
+    private static final String DELETE_HOT_ENTRIES_SQL = """
+        delete from leaderboard_entries
+        where leaderboard_id = ?
+    """;
+
+    private static final String RANK_RANGE_SQL = """
+        select player_id, score
+        from leaderboard_archive_entries
+        where leaderboard_id = ?
+          and player_rank between ? and ?
+        order by player_rank
+    """;
+
+    private static final String ALL_ENTRIES_SQL = """
+        select player_id, score
+        from leaderboard_archive_entries
+        where leaderboard_id = ?
+        order by player_rank
+    """;
+
+    private static final String COUNT_SQL = """
+        select coalesce(max(player_rank), 0)
+        from leaderboard_archive_entries
+        where leaderboard_id = ?
+    """;
+
+    private static final String PLAYER_SQL = """
+        select player_rank, player_id, score
+        from leaderboard_archive_entries
+        where leaderboard_id = ?
+          and player_id = ?
+    """;
+
+    private static final RowMapper<RankedEntry> RANKED_ENTRY_MAPPER =
+            (rs, rowNum) -> new RankedEntry(rs.getString(1), rs.getInt(2));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations readOnlyTransaction;
+
+    public LeaderboardArchiveRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        this.readOnlyTransaction = transactionTemplate;
+    }
+
+    public record ArchivedEntry(int rank, String playerId, int score) {
+    }
+
+    /**
+     * Moves the leaderboard's entries from the hot table into the archive, ranked. Must run in a transaction,
+     * together with sealing the leaderboard.
+     *
+     * @return number of entries archived
+     */
+    public int archive(String leaderboardId) {
+        int archived = jdbcTemplate.update(ARCHIVE_SQL, leaderboardId);
+        jdbcTemplate.update(DELETE_HOT_ENTRIES_SQL, leaderboardId);
+        return archived;
+    }
+
+    /**
+     * @return entries ranked fromRank to toRank, both inclusive and starting at 1
+     */
+    public List<RankedEntry> findByRankRange(String leaderboardId, int fromRank, int toRank) {
+        if (toRank < fromRank || toRank < 1) {
+            return List.of();
+        }
+        return jdbcTemplate.query(RANK_RANGE_SQL, RANKED_ENTRY_MAPPER, leaderboardId, Math.max(1, fromRank), toRank);
+    }
+
+    // ranks are dense, the highest one is the count and is read off the primary key
+    public int count(String leaderboardId) {
+        Integer count = jdbcTemplate.queryForObject(COUNT_SQL, Integer.class, leaderboardId);
+        return count == null ? 0 : count;
+    }
+
+    public List<RankedEntry> findAll(String leaderboardId) {
+        return jdbcTemplate.query(ALL_ENTRIES_SQL, RANKED_ENTRY_MAPPER, leaderboardId);
+    }
+
+    public Optional<ArchivedEntry> findByPlayer(String leaderboardId, String playerId) {
+        return jdbcTemplate.query(
+                PLAYER_SQL,
+                (rs, rowNum) -> new ArchivedEntry(rs.getInt(1), rs.getString(2), rs.getInt(3)),
+                leaderboardId,
+                playerId
+        ).stream().findFirst();
+    }
+
+    /**
+     * Read-only transaction for the same reason as {@link LeaderboardEntryCursorRepository}, the fetch size is
+     * ignored under autocommit.
+     */
+    public void streamRankedEntries(String leaderboardId, Consumer<RankedEntry> consumer) {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            ALL_ENTRIES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                    );
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setString(1, leaderboardId);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(new RankedEntry(rs.getString(1), rs.getInt(2)))
+        ));
+    }
+
+}
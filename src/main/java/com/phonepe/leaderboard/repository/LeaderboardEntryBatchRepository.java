@@ -0,0 +1,283 @@
+package com.phonepe.leaderboard.repository;
+
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * JDBC writes against leaderboard_entries, bypassing the JPA persistence context.
+ * <p>
+ * Update-if-higher is a single upsert statement where the database supports one: {@code MERGE} on H2 and
+ * {@code INSERT ... ON CONFLICT DO UPDATE ... WHERE} on PostgreSQL. Other databases fall back to an update
+ * followed by an insert of the entries that do not exist yet.
+ * <p>
+ * Callers act on the per-row counts, so a driver that answers batches with {@link Statement#SUCCESS_NO_INFO}, such
+ * as pgjdbc with {@code reWriteBatchedInserts=true}, gets its updates applied row by row instead.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class LeaderboardEntryBatchRepository {
+
+    private static final String H2_UPSERT_SQL = """
+        merge into leaderboard_entries t
+        using (values (cast(? as varchar), cast(? as varchar), cast(? as varchar), cast(? as integer)))
+            as s(id, leaderboard_id, player_id, score)
+        on t.leaderboard_id = s.leaderboard_id and t.player_id = s.player_id
+        when matched and s.score > t.score then
+            update set score = s.score, version = t.version + 1
+        when not matched then
+            insert (id, leaderboard_id, player_id, score, version)
+            values (s.id, s.leaderboard_id, s.player_id, s.score, 1)
+    """;
+
+    private static final String POSTGRES_UPSERT_SQL = """
+        insert into leaderboard_entries (id, leaderboard_id, player_id, score, version)
+        values (?, ?, ?, ?, 1)
+        on conflict (leaderboard_id, player_id) do update
+        set score = excluded.score, version = leaderboard_entries.version + 1
+        where excluded.score > leaderboard_entries.score
+    """;
+
+    private static final String UPDATE_IF_HIGHER_SQL = """
+        update leaderboard_entries
+        set score = ?, version = version + 1
+        where leaderboard_id = ? and player_id = ? and score < ?
+    """;
+
+    private static final String INSERT_SQL = """
+        insert into leaderboard_entries (id, leaderboard_id, player_id, score, version)
+        values (?, ?, ?, ?, 1)
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LeaderboardMetrics leaderboardMetrics;
+
+    private String upsertSql; // null when the database has no single-statement upsert
+    private volatile boolean rowByRow; // the driver does not report per-row counts for batches
+
+    @PostConstruct
+    public void detectDialect() {
+        String databaseProduct = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        );
+        upsertSql = switch (String.valueOf(databaseProduct)) {
+            case "H2" -> H2_UPSERT_SQL;
+            case "PostgreSQL" -> POSTGRES_UPSERT_SQL;
+            default -> null;
+        };
+        log.info("Using {} update-if-higher for database: {}", upsertSql == null ? "two-step" : "single-statement", databaseProduct);
+
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        if (url != null && url.toLowerCase(Locale.ROOT).contains("rewritebatchedinserts=true")) {
+            useRowByRow();
+        }
+    }
+
+    /**
+     * Applies every update with update-if-higher semantics, inserting entries for players that have none yet.
+     * Updates must not repeat a (leaderboardId, playerId) pair.
+     *
+     * @return per-update row counts, 1 if the entry was inserted or raised and 0 if the update was ignored
+     */
+    public int[] upsertIfHigher(List<ScoreUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new int[0];
+        }
+        return leaderboardMetrics.timeRepository("upsertIfHigher", () -> {
+            if (rowByRow) {
+                return upsertRowByRow(updates);
+            }
+            try {
+                return upsertSql == null ? updateThenInsertMissing(updates) : inSavepoint(() -> batchUpsert(updates));
+            } catch (DuplicateKeyException e) {
+                // MERGE is not atomic against a concurrent first insert of the same player, the retry matches the row
+                log.warn("Concurrent insert detected while upserting {} entries, retrying row by row", updates.size());
+                return upsertRowByRow(updates);
+            } catch (RowCountsUnknownException e) {
+                // the batch was rolled back to its savepoint, single statements always report their count
+                useRowByRow();
+                return upsertRowByRow(updates);
+            }
+        });
+    }
+
+    private void useRowByRow() {
+        if (!rowByRow) {
+            rowByRow = true;
+            log.warn("Database driver does not report row counts for batches, applying updates row by row");
+        }
+    }
+
+    private int[] upsertRowByRow(List<ScoreUpdate> updates) {
+        int[] updated = new int[updates.size()];
+        for (int i = 0; i < updated.length; i++) {
+            ScoreUpdate update = updates.get(i);
+            updated[i] = upsertSql == null ? (insertOrUpdateIfHigher(update) ? 1 : 0) : upsert(update);
+        }
+        return updated;
+    }
+
+    private int[] batchUpsert(List<ScoreUpdate> updates) {
+        int[] updated = requireRowCounts(jdbcTemplate.batchUpdate(upsertSql, updates, updates.size(), (ps, update) -> {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.setString(2, update.leaderboardId());
+            ps.setString(3, update.playerId());
+            ps.setInt(4, update.score());
+        })[0]);
+        for (int i = 0; i < updated.length; i++) {
+            updated[i] = updated[i] > 0 ? 1 : 0; // an insert plus a conflicting update may be counted as 2 rows
+        }
+        return updated;
+    }
+
+    private int upsert(ScoreUpdate update) {
+        int updated = jdbcTemplate.update(upsertSql, UUID.randomUUID().toString(), update.leaderboardId(), update.playerId(), update.score());
+        return updated > 0 ? 1 : 0;
+    }
+
+    private int[] updateThenInsertMissing(List<ScoreUpdate> updates) {
+        int[] updated = inSavepoint(() -> requireRowCounts(
+                jdbcTemplate.batchUpdate(UPDATE_IF_HIGHER_SQL, updates, updates.size(), (ps, update) -> {
+                    ps.setInt(1, update.score());
+                    ps.setString(2, update.leaderboardId());
+                    ps.setString(3, update.playerId());
+                    ps.setInt(4, update.score());
+                })[0]
+        ));
+
+        List<Integer> missed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missed.add(i);
+            }
+        }
+        if (missed.isEmpty()) {
+            return updated;
+        }
+
+        List<Integer> inserted = insertMissing(updates, missed);
+        for (int i: inserted) {
+            updated[i] = 1;
+        }
+        return updated;
+    }
+
+    // Entries missed by the update either hold a higher score already or do not exist yet; only the latter insert.
+    private List<Integer> insertMissing(List<ScoreUpdate> updates, List<Integer> missed) {
+        Map<String, Set<String>> existingPlayers = findExistingPlayers(missed.stream().map(updates::get).toList());
+        List<Integer> absent = new ArrayList<>();
+        for (int i: missed) {
+            ScoreUpdate update = updates.get(i);
+            if (!existingPlayers.getOrDefault(update.leaderboardId(), Set.of()).contains(update.playerId())) {
+                absent.add(i);
+            }
+        }
+        if (absent.isEmpty()) {
+            return absent;
+        }
+
+        List<ScoreUpdate> inserts = absent.stream().map(updates::get).toList();
+        try {
+            inSavepoint(() -> jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, update) -> {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, update.leaderboardId());
+                ps.setString(3, update.playerId());
+                ps.setInt(4, update.score());
+            }));
+            return absent;
+        } catch (DuplicateKeyException e) {
+            // a concurrent first submission won the insert for at least one player, retry those row by row
+            log.warn("Concurrent insert detected while flushing {} entries, retrying row by row", inserts.size());
+            List<Integer> applied = new ArrayList<>();
+            for (int i: absent) {
+                if (insertOrUpdateIfHigher(updates.get(i))) {
+                    applied.add(i);
+                }
+            }
+            return applied;
+        }
+    }
+
+    private Map<String, Set<String>> findExistingPlayers(List<ScoreUpdate> updates) {
+        Map<String, List<String>> playersByLeaderboard = new HashMap<>();
+        for (ScoreUpdate update: updates) {
+            playersByLeaderboard.computeIfAbsent(update.leaderboardId(), id -> new ArrayList<>()).add(update.playerId());
+        }
+
+        Map<String, Set<String>> existingPlayers = new HashMap<>();
+        playersByLeaderboard.forEach((leaderboardId, playerIds) -> {
+            String placeholders = String.join(",", Collections.nCopies(playerIds.size(), "?"));
+            List<Object> args = new ArrayList<>(playerIds.size() + 1);
+            args.add(leaderboardId);
+            args.addAll(playerIds);
+            existingPlayers.put(leaderboardId, new HashSet<>(jdbcTemplate.queryForList(
+                    "select player_id from leaderboard_entries where leaderboard_id = ? and player_id in (" + placeholders + ")",
+                    String.class,
+                    args.toArray()
+            )));
+        });
+        return existingPlayers;
+    }
+
+    private boolean insertOrUpdateIfHigher(ScoreUpdate update) {
+        try {
+            inSavepoint(() -> jdbcTemplate.update(INSERT_SQL, UUID.randomUUID().toString(), update.leaderboardId(), update.playerId(), update.score()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update(UPDATE_IF_HIGHER_SQL, update.score(), update.leaderboardId(), update.playerId(), update.score()) > 0;
+        }
+    }
+
+    // SUCCESS_NO_INFO means the row may or may not have changed, neither 0 nor 1 can be reported for it
+    private static int[] requireRowCounts(int[] updated) {
+        for (int count: updated) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                throw new RowCountsUnknownException();
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Runs the statements under a savepoint when a transaction is active and rolls back to it if they fail. A failed
+     * statement aborts the whole transaction on PostgreSQL, and the rows a failed batch did apply are undone, so the
+     * row by row retry starts from a clean slate and counts every row it raises.
+     * <p>
+     * Without a transaction the rows a failed batch applied stay committed and their retry reports them as ignored,
+     * which only the snapshot backfill sees, and it does not use the counts.
+     */
+    private <T> T inSavepoint(Supplier<T> statements) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return statements.get();
+        }
+        return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            T result;
+            try {
+                result = statements.get();
+            } catch (RuntimeException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return result;
+        });
+    }
+
+    private static final class RowCountsUnknownException extends RuntimeException {
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.phonepe.leaderboard.repository;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only JDBC reads of whole leaderboards. Rows are handed to the caller one at a time as they are
+ * fetched, so memory use does not depend on the size of the leaderboard.
+ */
+@Repository
+public class LeaderboardEntryCursorRepository {
+
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final String RANKED_ENTRIES_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = ?
+        order by score desc, player_id asc
+    """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionOperations readOnlyTransaction;
+
+    public LeaderboardEntryCursorRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        this.readOnlyTransaction = transactionTemplate;
+    }
+
+    /**
+     * Runs in a read-only transaction: PostgreSQL only honours the fetch size with autocommit off, and otherwise
+     * reads the whole result set into memory before handing out the first row.
+     */
+    public void streamRankedEntries(String leaderboardId, Consumer<RankedEntry> consumer) {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            RANKED_ENTRIES_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY
+                    );
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setString(1, leaderboardId);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumer.accept(new RankedEntry(rs.getString(1), rs.getInt(2)))
+        ));
+    }
+
+}
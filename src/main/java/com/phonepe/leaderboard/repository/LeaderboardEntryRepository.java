@@ -1,9 +1,9 @@
 package com.phonepe.leaderboard.repository;
 
 import com.phonepe.leaderboard.data.model.LeaderboardEntry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,38 +13,37 @@ import java.util.Optional;
 @Repository
 public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEntry, String> {
 
-    Optional<LeaderboardEntry> findByLeaderboardIdAndPlayerId(String leaderboardId, String playerId);
+    // Read queries project straight into RankedEntry: no managed entities, proxies or dirty-checking snapshots.
 
-    List<LeaderboardEntry> findByLeaderboardIdOrderByScoreDesc(String leaderboardId);
-
-    @Modifying
     @Query("""
-        update LeaderboardEntry e
-        set e.score = :newScore,
-            e.version = e.version + 1
+        select new com.phonepe.leaderboard.ranking.RankedEntry(e.playerId, e.score)
+        from LeaderboardEntry e
         where e.leaderboard.id = :leaderboardId
           and e.playerId = :playerId
-          and :newScore > e.score
     """)
-    int updateIfHigherScore(
-            String leaderboardId,
-            String playerId,
-            int newScore
-    );
+    Optional<RankedEntry> findByLeaderboardIdAndPlayerId(String leaderboardId, String playerId);
+
+    @Query("""
+        select new com.phonepe.leaderboard.ranking.RankedEntry(e.playerId, e.score)
+        from LeaderboardEntry e
+        where e.leaderboard.id = :leaderboardId
+        order by e.score desc, e.playerId asc
+    """)
+    List<RankedEntry> findByLeaderboardIdOrderByScoreDesc(String leaderboardId);
 
     @Query("""
-        select e
+        select new com.phonepe.leaderboard.ranking.RankedEntry(e.playerId, e.score)
         from LeaderboardEntry e
         where e.leaderboard.id = :leaderboardId
         order by e.score desc, e.playerId asc
     """)
-    List<LeaderboardEntry> findTopNPlayers(
+    List<RankedEntry> findTopNPlayers(
             String leaderboardId,
             Pageable pageable
     );
 
     @Query("""
-        select e
+        select new com.phonepe.leaderboard.ranking.RankedEntry(e.playerId, e.score)
         from LeaderboardEntry e
         where e.leaderboard.id = :leaderboardId
           and (
@@ -53,7 +52,7 @@ public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEnt
               )
         order by e.score desc, e.playerId asc
     """)
-    List<LeaderboardEntry> findNextNPlayers(
+    List<RankedEntry> findNextNPlayers(
             String leaderboardId,
             int score,
             String playerId,
@@ -61,7 +60,7 @@ public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEnt
     );
 
     @Query("""
-        select e
+        select new com.phonepe.leaderboard.ranking.RankedEntry(e.playerId, e.score)
         from LeaderboardEntry e
         where e.leaderboard.id = :leaderboardId
           and (
@@ -70,7 +69,7 @@ public interface LeaderboardEntryRepository extends JpaRepository<LeaderboardEnt
               )
         order by e.score asc, e.playerId desc
     """)
-    List<LeaderboardEntry> findPrevNPlayers(
+    List<RankedEntry> findPrevNPlayers(
             String leaderboardId,
             int score,
             String playerId,
@@ -1,8 +1,12 @@
 package com.phonepe.leaderboard.repository;
 
 import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.data.model.LeaderboardStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -11,4 +15,45 @@ public interface LeaderboardRepository extends JpaRepository<Leaderboard, String
 
     List<Leaderboard> findByGameId(String gameId);
 
+    // sealed leaderboards never take scores again, the submit path does not need to load them
+    @Query("""
+        select l
+        from Leaderboard l
+        where l.gameId = :gameId
+          and l.status <> com.phonepe.leaderboard.data.model.LeaderboardStatus.SEALED
+    """)
+    List<Leaderboard> findUnsealedByGameId(String gameId);
+
+    boolean existsByGameId(String gameId);
+
+    List<Leaderboard> findByStatusNotAndEndTimeLessThan(LeaderboardStatus status, long endTime);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        update Leaderboard l
+        set l.status = com.phonepe.leaderboard.data.model.LeaderboardStatus.ACTIVE
+        where l.status = com.phonepe.leaderboard.data.model.LeaderboardStatus.PENDING
+          and l.startTime <= :currentTime
+    """)
+    int activateStarted(long currentTime);
+
+    @Modifying
+    @Query("""
+        update Leaderboard l
+        set l.status = com.phonepe.leaderboard.data.model.LeaderboardStatus.SEALED
+        where l.id = :id
+          and l.status <> com.phonepe.leaderboard.data.model.LeaderboardStatus.SEALED
+    """)
+    int markSealed(String id);
+
+    // keeps the given id, save() would generate a new one for a detached leaderboard
+    @Modifying
+    @Transactional
+    @Query(value = """
+        insert into leaderboard (id, game_id, start_time, end_time)
+        values (:id, :gameId, :startTime, :endTime)
+    """, nativeQuery = true)
+    void insert(String id, String gameId, long startTime, long endTime);
+
 }
@@ -0,0 +1,130 @@
+package com.phonepe.leaderboard.repository;
+
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking R2DBC counterpart of {@link LeaderboardEntryRepository} for the reactive stack, with the same
+ * queries. Rows are emitted as the driver decodes them and only as fast as the subscriber requests them, so a whole
+ * leaderboard streams in constant memory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveLeaderboardEntryRepository {
+
+    private static final String LEADERBOARD_EXISTS_SQL = """
+        select count(*)
+        from leaderboard
+        where id = :leaderboardId
+    """;
+
+    private static final String PLAYER_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = :leaderboardId
+          and player_id = :playerId
+    """;
+
+    private static final String RANKED_ENTRIES_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = :leaderboardId
+        order by score desc, player_id asc
+    """;
+
+    private static final String TOP_N_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = :leaderboardId
+        order by score desc, player_id asc
+        fetch first :limit rows only
+    """;
+
+    private static final String NEXT_N_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = :leaderboardId
+          and (
+                score < :score OR
+                (score = :score AND player_id > :playerId)
+              )
+        order by score desc, player_id asc
+        fetch first :limit rows only
+    """;
+
+    // read in ascending order from the player upwards, callers reverse it into ranking order
+    private static final String PREV_N_SQL = """
+        select player_id, score
+        from leaderboard_entries
+        where leaderboard_id = :leaderboardId
+          and (
+                score > :score OR
+                (score = :score AND player_id < :playerId)
+              )
+        order by score asc, player_id desc
+        fetch first :limit rows only
+    """;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Boolean> existsLeaderboard(String leaderboardId) {
+        return databaseClient.sql(LEADERBOARD_EXISTS_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    public Mono<RankedEntry> findByLeaderboardIdAndPlayerId(String leaderboardId, String playerId) {
+        return databaseClient.sql(PLAYER_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .bind("playerId", playerId)
+                .map(ReactiveLeaderboardEntryRepository::rankedEntry)
+                .one();
+    }
+
+    public Flux<RankedEntry> findByLeaderboardIdOrderByScoreDesc(String leaderboardId) {
+        return databaseClient.sql(RANKED_ENTRIES_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .map(ReactiveLeaderboardEntryRepository::rankedEntry)
+                .all();
+    }
+
+    public Flux<RankedEntry> findTopNPlayers(String leaderboardId, int limit) {
+        return databaseClient.sql(TOP_N_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .bind("limit", limit)
+                .map(ReactiveLeaderboardEntryRepository::rankedEntry)
+                .all();
+    }
+
+    public Flux<RankedEntry> findNextNPlayers(String leaderboardId, int score, String playerId, int limit) {
+        return databaseClient.sql(NEXT_N_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .bind("score", score)
+                .bind("playerId", playerId)
+                .bind("limit", limit)
+                .map(ReactiveLeaderboardEntryRepository::rankedEntry)
+                .all();
+    }
+
+    public Flux<RankedEntry> findPrevNPlayers(String leaderboardId, int score, String playerId, int limit) {
+        return databaseClient.sql(PREV_N_SQL)
+                .bind("leaderboardId", leaderboardId)
+                .bind("score", score)
+                .bind("playerId", playerId)
+                .bind("limit", limit)
+                .map(ReactiveLeaderboardEntryRepository::rankedEntry)
+                .all();
+    }
+
+    private static RankedEntry rankedEntry(Readable row) {
+        return new RankedEntry(row.get(0, String.class), row.get(1, Integer.class));
+    }
+
+}
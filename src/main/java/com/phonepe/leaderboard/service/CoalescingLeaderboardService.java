@@ -0,0 +1,154 @@
+package com.phonepe.leaderboard.service;
+
+import com.phonepe.leaderboard.cache.SingleFlight;
+import com.phonepe.leaderboard.config.CoalescingProperties;
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
+import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
+import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent reads in front of {@link LeaderboardServiceImpl}: requests for the same
+ * operation, leaderboard and arguments that arrive while one of them is running wait for it and share its
+ * result, so a read storm on one leaderboard costs one query and one transaction however many clients take part.
+ * With {@code leaderboard.coalescing.result-ttl-ms} above 0, results are also shared for that long after they
+ * complete, at the price of reads that many milliseconds stale.
+ * <p>
+ * Writes, exports and validators go straight to the wrapped service. Shared results are handed to every caller
+ * and must not be modified.
+ */
+@Primary
+@Component
+public class CoalescingLeaderboardService implements LeaderboardService {
+
+    private final LeaderboardService leaderboardService;
+    private final CoalescingProperties properties;
+    private final LeaderboardMetrics leaderboardMetrics;
+    private final SingleFlight<ReadKey, Object> reads;
+
+    public CoalescingLeaderboardService(LeaderboardServiceImpl leaderboardService,
+                                        CoalescingProperties properties,
+                                        LeaderboardMetrics leaderboardMetrics) {
+        this.leaderboardService = leaderboardService;
+        this.properties = properties;
+        this.leaderboardMetrics = leaderboardMetrics;
+        this.reads = new SingleFlight<>(properties.getResultTtlMs(), properties.getMaxEntries());
+    }
+
+    // argument is null and counts empty where the operation does not take them, id is the gameId of game reads
+    private record ReadKey(String operation, String id, String argument, List<Integer> counts) {
+    }
+
+    @Override
+    public CreateLeaderboardResponse createLeaderboard(String gameId, long startTime, long endTime) {
+        return leaderboardService.createLeaderboard(gameId, startTime, endTime);
+    }
+
+    @Override
+    public GetLeaderboardResponse getLeaderboard(String id) {
+        return coalesce(new ReadKey("getLeaderboard", id, null, List.of()),
+                () -> leaderboardService.getLeaderboard(id));
+    }
+
+    @Override
+    public byte[] getLeaderboardJson(String id) {
+        return coalesce(new ReadKey("getLeaderboardJson", id, null, List.of()),
+                () -> leaderboardService.getLeaderboardJson(id));
+    }
+
+    @Override
+    public Optional<String> getFrozenStandingsETag(String leaderboardId) {
+        return leaderboardService.getFrozenStandingsETag(leaderboardId);
+    }
+
+    @Override
+    public LeaderboardExport exportLeaderboard(String id) {
+        return leaderboardService.exportLeaderboard(id);
+    }
+
+    @Override
+    public LeaderboardPageResponse getLeaderboardPage(String id, int limit, String cursor) {
+        return coalesce(new ReadKey("getLeaderboardPage", id, cursor, List.of(limit)),
+                () -> leaderboardService.getLeaderboardPage(id, limit, cursor));
+    }
+
+    @Override
+    public ScoreSubmissionResponse submitScore(String gameId, String playerId, int score) {
+        return leaderboardService.submitScore(gameId, playerId, score);
+    }
+
+    @Override
+    public BulkScoreSubmissionResponse submitScores(String gameId, List<PlayerScore> scores) {
+        return leaderboardService.submitScores(gameId, scores);
+    }
+
+    @Override
+    public List<LeaderboardEntryResponse> getTopNPlayers(String leaderboardId, int nPlayers) {
+        return coalesce(new ReadKey("getTopNPlayers", leaderboardId, null, List.of(nPlayers)),
+                () -> leaderboardService.getTopNPlayers(leaderboardId, nPlayers));
+    }
+
+    @Override
+    public byte[] getTopNPlayersJson(String leaderboardId, int nPlayers) {
+        return coalesce(new ReadKey("getTopNPlayersJson", leaderboardId, null, List.of(nPlayers)),
+                () -> leaderboardService.getTopNPlayersJson(leaderboardId, nPlayers));
+    }
+
+    @Override
+    public List<LeaderboardEntryResponse> getNextNPlayers(String leaderboardId, String playerId, int nPlayers) {
+        return coalesce(new ReadKey("getNextNPlayers", leaderboardId, playerId, List.of(nPlayers)),
+                () -> leaderboardService.getNextNPlayers(leaderboardId, playerId, nPlayers));
+    }
+
+    @Override
+    public List<LeaderboardEntryResponse> getPrevNPlayers(String leaderboardId, String playerId, int nPlayers) {
+        return coalesce(new ReadKey("getPrevNPlayers", leaderboardId, playerId, List.of(nPlayers)),
+                () -> leaderboardService.getPrevNPlayers(leaderboardId, playerId, nPlayers));
+    }
+
+    @Override
+    public PlayerRankResponse getPlayerRank(String leaderboardId, String playerId) {
+        return coalesce(new ReadKey("getPlayerRank", leaderboardId, playerId, List.of()),
+                () -> leaderboardService.getPlayerRank(leaderboardId, playerId));
+    }
+
+    @Override
+    public NeighborhoodResponse getNeighborhood(String leaderboardId, String playerId, int above, int below, int nTop) {
+        return coalesce(new ReadKey("getNeighborhood", leaderboardId, playerId, List.of(above, below, nTop)),
+                () -> leaderboardService.getNeighborhood(leaderboardId, playerId, above, below, nTop));
+    }
+
+    @Override
+    public PlayerStandingsResponse getPlayerStandings(String gameId, String playerId, int above, int below) {
+        return coalesce(new ReadKey("getPlayerStandings", gameId, playerId, List.of(above, below)),
+                () -> leaderboardService.getPlayerStandings(gameId, playerId, above, below));
+    }
+
+    // every operation has its own key, so the cast always matches the type its read produced
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(ReadKey key, Supplier<T> read) {
+        if (!properties.isEnabled()) {
+            return read.get();
+        }
+        SingleFlight.Result<Object> result = reads.get(key, read::get);
+        if (result.outcome() != SingleFlight.Outcome.COMPUTED) {
+            leaderboardMetrics.countCoalescedRead(key.operation(), result.outcome().name().toLowerCase(Locale.ROOT));
+        }
+        return (T) result.value();
+    }
+
+}
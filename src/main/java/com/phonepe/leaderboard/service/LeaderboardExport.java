@@ -0,0 +1,14 @@
+package com.phonepe.leaderboard.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A leaderboard export that is only read from the database while it is being written out.
+ */
+@FunctionalInterface
+public interface LeaderboardExport {
+
+    void writeTo(OutputStream outputStream) throws IOException;
+
+}
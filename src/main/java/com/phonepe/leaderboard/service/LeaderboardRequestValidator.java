@@ -0,0 +1,77 @@
+package com.phonepe.leaderboard.service;
+
+import lombok.experimental.UtilityClass;
+
+import static com.phonepe.leaderboard.constants.Constants.MAX_PAGE_SIZE;
+
+/**
+ * Request checks of the read operations, shared by the blocking and the reactive service.
+ */
+@UtilityClass
+class LeaderboardRequestValidator {
+
+    static void validateGetLeaderboardRequest(String leaderboardId) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+    }
+
+    static void validateGetLeaderboardPageRequest(String leaderboardId, int limit) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page limit is invalid.");
+        }
+    }
+
+    static void validateGetTopNPlayersRequest(String leaderboardId, int nPlayers) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+        if (nPlayers < 0) {
+            throw new RuntimeException("N count is invalid.");
+        }
+    }
+
+    static void validateGetNextOrPrevNPlayersRequest(String leaderboardId, String playerId, int nPlayers) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+        if (playerId == null || playerId.isEmpty()) {
+            throw new RuntimeException("PlayerId is invalid.");
+        }
+        if (nPlayers < 0) {
+            throw new RuntimeException("N count is invalid.");
+        }
+    }
+
+    static void validateGetNeighborhoodRequest(String leaderboardId, String playerId, int above, int below, int nTop) {
+        validateGetPlayerRankRequest(leaderboardId, playerId);
+        if (above < 0 || above > MAX_PAGE_SIZE || below < 0 || below > MAX_PAGE_SIZE || nTop < 0 || nTop > MAX_PAGE_SIZE) {
+            throw new RuntimeException("N count is invalid.");
+        }
+    }
+
+    static void validateGetPlayerStandingsRequest(String gameId, String playerId, int above, int below) {
+        if (gameId == null || gameId.isEmpty()) {
+            throw new RuntimeException("GameId is invalid.");
+        }
+        if (playerId == null || playerId.isEmpty()) {
+            throw new RuntimeException("PlayerId is invalid.");
+        }
+        if (above < 0 || above > MAX_PAGE_SIZE || below < 0 || below > MAX_PAGE_SIZE) {
+            throw new RuntimeException("N count is invalid.");
+        }
+    }
+
+    static void validateGetPlayerRankRequest(String leaderboardId, String playerId) {
+        if (leaderboardId == null || leaderboardId.isEmpty()) {
+            throw new RuntimeException("LeaderboardId is invalid.");
+        }
+        if (playerId == null || playerId.isEmpty()) {
+            throw new RuntimeException("PlayerId is invalid.");
+        }
+    }
+
+}
@@ -1,11 +1,18 @@
 package com.phonepe.leaderboard.service;
 
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
 import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
 import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface LeaderboardService {
 
@@ -13,11 +20,33 @@ public interface LeaderboardService {
 
     GetLeaderboardResponse getLeaderboard(String id);
 
+    /**
+     * Same content as {@link #getLeaderboard(String)}, already encoded as JSON.
+     */
+    byte[] getLeaderboardJson(String id);
+
+    /**
+     * @return a strong ETag for reads of a leaderboard whose standings are final, empty while they can still change
+     */
+    Optional<String> getFrozenStandingsETag(String leaderboardId);
+
+    LeaderboardExport exportLeaderboard(String id);
+
+    LeaderboardPageResponse getLeaderboardPage(String id, int limit, String cursor);
+
     ScoreSubmissionResponse submitScore(String gameId, String playerId, int score);
 
+    BulkScoreSubmissionResponse submitScores(String gameId, List<PlayerScore> scores);
+
     List<LeaderboardEntryResponse> getTopNPlayers(String leaderboardId,
                                                   int nPlayers);
 
+    /**
+     * Same entries as {@link #getTopNPlayers(String, int)}, already encoded as a JSON array.
+     */
+    byte[] getTopNPlayersJson(String leaderboardId,
+                              int nPlayers);
+
     List<LeaderboardEntryResponse> getNextNPlayers(String leaderboardId,
                                                    String playerId,
                                                    int nPlayers);
@@ -26,4 +55,26 @@ public interface LeaderboardService {
                                                    String playerId,
                                                    int nPlayers);
 
+    PlayerRankResponse getPlayerRank(String leaderboardId,
+                                     String playerId);
+
+    /**
+     * The player's rank together with the entries just above and below them and, when nTop is positive, the
+     * top nTop entries, in place of separate rank, previous, next and top-N reads.
+     */
+    NeighborhoodResponse getNeighborhood(String leaderboardId,
+                                         String playerId,
+                                         int above,
+                                         int below,
+                                         int nTop);
+
+    /**
+     * The player's rank and score on every active leaderboard of the game, with up to above and below
+     * neighbouring entries on each.
+     */
+    PlayerStandingsResponse getPlayerStandings(String gameId,
+                                               String playerId,
+                                               int above,
+                                               int below);
+
 }
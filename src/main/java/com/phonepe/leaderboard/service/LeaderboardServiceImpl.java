@@ -1,23 +1,57 @@
 package com.phonepe.leaderboard.service;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.phonepe.leaderboard.cache.ActiveLeaderboardCache;
+import com.phonepe.leaderboard.cache.FrozenStandings;
+import com.phonepe.leaderboard.cache.FrozenStandingsCache;
 import com.phonepe.leaderboard.data.model.Leaderboard;
-import com.phonepe.leaderboard.data.model.LeaderboardEntry;
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
 import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardStandingResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
 import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.eventlog.ScoreEventLog;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankNeighborhood;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.TopKSnapshot;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import com.phonepe.leaderboard.repository.LeaderboardEntryBatchRepository;
+import com.phonepe.leaderboard.repository.LeaderboardEntryCursorRepository;
 import com.phonepe.leaderboard.repository.LeaderboardEntryRepository;
 import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import com.phonepe.leaderboard.service.ingestion.ScoreIngestionPipeline;
+import com.phonepe.leaderboard.util.LeaderboardUtil;
+import jakarta.annotation.PreDestroy;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static com.phonepe.leaderboard.constants.Constants.*;
+import static com.phonepe.leaderboard.service.LeaderboardRequestValidator.*;
 import static com.phonepe.leaderboard.util.LeaderboardUtil.*;
 import static java.lang.System.currentTimeMillis;
 
@@ -26,16 +60,43 @@ import static java.lang.System.currentTimeMillis;
 @RequiredArgsConstructor
 public class LeaderboardServiceImpl implements LeaderboardService {
 
+    // the servlet container owns the response stream, closing the generator must only flush it
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
     private final LeaderboardRepository leaderboardRepository;
+    private final ActiveLeaderboardCache activeLeaderboardCache;
     private final LeaderboardEntryRepository leaderboardEntryRepository;
+    private final LeaderboardEntryBatchRepository leaderboardEntryBatchRepository;
+    private final LeaderboardEntryCursorRepository leaderboardEntryCursorRepository;
+    private final RankIndexRegistry rankIndexRegistry;
+    private final ScoreIngestionPipeline scoreIngestionPipeline;
+    private final TransactionOperations transactionOperations;
+    private final LeaderboardMetrics leaderboardMetrics;
+    private final ScoreEventLog scoreEventLog;
+    private final LeaderboardArchiveRepository leaderboardArchiveRepository;
+    private final FrozenStandingsCache frozenStandingsCache;
+
+    // fan-out reads, one virtual thread per leaderboard, so a caller never queues behind another one's fan-out
+    private final ExecutorService fanOutExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    public void shutdown() {
+        fanOutExecutor.shutdownNow();
+    }
 
     @Override
     @Transactional
     public CreateLeaderboardResponse createLeaderboard(String gameId, long startTime, long endTime) {
-        validateCreateLeaderboardRequest(gameId, startTime, endTime);
-        Leaderboard leaderboard = createLeaderboardEntity(gameId, startTime, endTime);
-        Leaderboard savedEntity = leaderboardRepository.save(leaderboard);
-        return CreateLeaderboardResponse.builder().leaderboardId(savedEntity.getId()).build();
+        return leaderboardMetrics.timeService("createLeaderboard", () -> {
+            validateCreateLeaderboardRequest(gameId, startTime, endTime);
+            Leaderboard leaderboard = createLeaderboardEntity(gameId, startTime, endTime);
+            Leaderboard savedEntity = leaderboardRepository.save(leaderboard);
+            rankIndexRegistry.registerAfterCommit(savedEntity.getId(), gameId);
+            activeLeaderboardCache.invalidate(gameId);
+            return CreateLeaderboardResponse.builder().leaderboardId(savedEntity.getId()).build();
+        });
     }
 
     private void validateCreateLeaderboardRequest(String gameId, long startTime, long endTime) {
@@ -50,36 +111,240 @@ public class LeaderboardServiceImpl implements LeaderboardService {
     @Override
     @Transactional(readOnly = true)
     public GetLeaderboardResponse getLeaderboard(String id) {
-        validateGetLeaderboardRequest(id);
-        Optional<Leaderboard> leaderboard = leaderboardRepository.findById(id);
-        if (leaderboard.isEmpty()) {
-            throw new RuntimeException("No leaderboard found for given id.");
+        return leaderboardMetrics.timeService("getLeaderboard", () -> {
+            validateGetLeaderboardRequest(id);
+            Optional<Leaderboard> leaderboard = leaderboardRepository.findById(id);
+            if (leaderboard.isEmpty()) {
+                throw new RuntimeException("No leaderboard found for given id.");
+            }
+            return getLeaderboardResponse(getLeaderboardEntries(leaderboard.get()));
+        });
+    }
+
+    /**
+     * The whole leaderboard as serialized {@link GetLeaderboardResponse}. Final standings of a sealed leaderboard
+     * are encoded once and then served from memory.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] getLeaderboardJson(String id) {
+        return leaderboardMetrics.timeService("getLeaderboardJson", () -> {
+            validateGetLeaderboardRequest(id);
+            Optional<byte[]> frozen = frozenStandingsCache.find(id).map(FrozenStandings::leaderboardJson);
+            if (frozen.isPresent()) {
+                return frozen.get();
+            }
+            Leaderboard leaderboard = leaderboardRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("No leaderboard found for given id."));
+            return LeaderboardUtil.getLeaderboardJson(getLeaderboardEntries(leaderboard));
+        });
+    }
+
+    private List<RankedEntry> getLeaderboardEntries(Leaderboard leaderboard) {
+        if (rankIndexRegistry.isSealed(leaderboard.getId())) {
+            return frozenStandingsCache.find(leaderboard.getId())
+                    .map(frozen -> frozen.byRankRange(1, frozen.size()))
+                    .orElseGet(() -> leaderboardArchiveRepository.findAll(leaderboard.getId()));
         }
-        List<LeaderboardEntry> leaderboardEntries = leaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(
-                leaderboard.get().getId()
-        );
-        return getLeaderboardResponse(leaderboardEntries);
+        return leaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(leaderboard.getId());
     }
 
-    private void validateGetLeaderboardRequest(String leaderboardId) {
-        if (leaderboardId == null || leaderboardId.isEmpty()) {
-            throw new RuntimeException("LeaderboardId is invalid.");
+    /**
+     * Standings of a sealed leaderboard never change, so they carry a fixed validator.
+     */
+    @Override
+    public Optional<String> getFrozenStandingsETag(String leaderboardId) {
+        if (leaderboardId == null || !rankIndexRegistry.isSealed(leaderboardId)) {
+            return Optional.empty();
         }
+        return Optional.of("\"sealed-" + leaderboardId + "\"");
+    }
+
+    /**
+     * Validates eagerly and streams lazily: the entries are read through a forward-only cursor and written
+     * as newline delimited JSON while the caller consumes the export, one row at a time.
+     */
+    @Override
+    public LeaderboardExport exportLeaderboard(String id) {
+        return leaderboardMetrics.timeService("exportLeaderboard", () -> {
+            validateGetLeaderboardRequest(id);
+            if (!leaderboardRepository.existsById(id)) {
+                throw new RuntimeException("No leaderboard found for given id.");
+            }
+            boolean sealed = rankIndexRegistry.isSealed(id);
+            return outputStream -> {
+                try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream)) {
+                    generator.setRootValueSeparator(null);
+                    Consumer<RankedEntry> writer = entry -> {
+                        try {
+                            generator.writeStartObject();
+                            generator.writeStringField("playerId", entry.playerId());
+                            generator.writeNumberField("score", entry.score());
+                            generator.writeEndObject();
+                            generator.writeRaw('\n');
+                        } catch (IOException e) {
+                            // most likely the client went away, abort the cursor
+                            throw new UncheckedIOException(e);
+                        }
+                    };
+                    if (sealed) {
+                        leaderboardArchiveRepository.streamRankedEntries(id, writer);
+                    } else {
+                        leaderboardEntryCursorRepository.streamRankedEntries(id, writer);
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            };
+        });
+    }
+
+    /**
+     * Keyset pagination: the cursor carries the (score, playerId) key of the previous page's last entry and the
+     * page is read by seeking past it, so a deep page costs the same as the first one.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LeaderboardPageResponse getLeaderboardPage(String id, int limit, String cursor) {
+        return leaderboardMetrics.timeService("getLeaderboardPage", () -> {
+            validateGetLeaderboardPageRequest(id, limit);
+            RankedEntry after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+
+            // one extra entry tells whether there is a next page without an extra round trip
+            return getLeaderboardPageResponse(getEntriesAfter(id, after, limit + 1), limit);
+        });
+    }
+
+    private List<RankedEntry> getEntriesAfter(String leaderboardId, RankedEntry after, int limit) {
+        Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+        if (rankIndex.isPresent()) {
+            return after == null
+                    ? rankIndex.get().top(limit)
+                    : rankIndex.get().after(after.score(), after.playerId(), limit);
+        }
+        if (rankIndexRegistry.isSealed(leaderboardId)) {
+            int afterRank = after == null ? 0 : getArchivedEntry(leaderboardId, after.playerId()).rank();
+            return getSealedEntries(leaderboardId, afterRank + 1, afterRank + limit);
+        }
+        return after == null
+                ? leaderboardEntryRepository.findTopNPlayers(leaderboardId, PageRequest.of(DEFAULT_PAGE_NUMBER, limit))
+                : leaderboardEntryRepository.findNextNPlayers(
+                        leaderboardId, after.score(), after.playerId(), PageRequest.of(DEFAULT_PAGE_NUMBER, limit)
+                );
     }
 
     @Override
-    @Transactional
     public ScoreSubmissionResponse submitScore(String gameId, String playerId, int newScore) {
-        validateSubmitScoreRequest(gameId, playerId, newScore);
-        List<Leaderboard> leaderboards = leaderboardRepository.findByGameId(gameId);
-        if (leaderboards.isEmpty()) {
+        return leaderboardMetrics.timeService("submitScore", () -> {
+            validateSubmitScoreRequest(gameId, playerId, newScore);
+            List<Leaderboard> leaderboards = getActiveLeaderboards(gameId);
+            // write-behind submissions must not hold a transaction (and its connection) while waiting for a flush
+            AtomicInteger updatedCount = scoreIngestionPipeline.isEnabled()
+                    ? enqueueScoresInActiveLeaderboardsIfEligible(playerId, newScore, leaderboards)
+                    : transactionOperations.execute(status ->
+                            updateScoresInActiveLeaderboardsIfEligible(playerId, newScore, leaderboards));
+            leaderboardMetrics.countScores(updatedCount.get(), leaderboards.size() - updatedCount.get());
+            return ScoreSubmissionResponse.builder()
+                    .updatedLeaderboardCount(updatedCount.get())
+                    .dataUpdated(updatedCount.get() != 0)
+                    .build();
+        });
+    }
+
+    @Override
+    public BulkScoreSubmissionResponse submitScores(String gameId, List<PlayerScore> scores) {
+        return leaderboardMetrics.timeService("submitScores", () -> {
+            validateSubmitScoresRequest(gameId, scores);
+            List<Leaderboard> leaderboards = getActiveLeaderboards(gameId);
+
+            // a player reported more than once in the same request only keeps their highest score
+            Map<String, Integer> highestScores = new LinkedHashMap<>();
+            for (PlayerScore playerScore: scores) {
+                highestScores.merge(playerScore.getPlayerId(), playerScore.getScore(), Math::max);
+            }
+
+            Map<String, Integer> updatedCounts = scoreIngestionPipeline.isEnabled()
+                    ? enqueueScoresInActiveLeaderboardsIfEligible(highestScores, leaderboards)
+                    : transactionOperations.execute(status ->
+                            upsertScoresInActiveLeaderboardsIfEligible(highestScores, leaderboards));
+
+            int acceptedCount = updatedCounts.values().stream().mapToInt(Integer::intValue).sum();
+            leaderboardMetrics.countScores(acceptedCount, highestScores.size() * leaderboards.size() - acceptedCount);
+
+            List<BulkScoreSubmissionResponse.PlayerResult> results = new ArrayList<>(highestScores.size());
+            for (String playerId: highestScores.keySet()) {
+                int updatedCount = updatedCounts.getOrDefault(playerId, 0);
+                results.add(new BulkScoreSubmissionResponse.PlayerResult(playerId, updatedCount, updatedCount != 0));
+            }
+            return BulkScoreSubmissionResponse.builder().results(results).build();
+        });
+    }
+
+    private void validateSubmitScoresRequest(String gameId, List<PlayerScore> scores) {
+        if (scores == null || scores.isEmpty() || scores.size() > MAX_BULK_SUBMISSION_SIZE) {
+            throw new RuntimeException("Score submissions are invalid.");
+        }
+        for (PlayerScore playerScore: scores) {
+            if (playerScore == null) {
+                throw new RuntimeException("Score submissions are invalid.");
+            }
+            validateSubmitScoreRequest(gameId, playerScore.getPlayerId(), playerScore.getScore());
+        }
+    }
+
+    private Map<String, Integer> upsertScoresInActiveLeaderboardsIfEligible(Map<String, Integer> highestScores, List<Leaderboard> leaderboards) {
+        List<ScoreUpdate> updates = new ArrayList<>();
+        for (Leaderboard leaderboard: leaderboards) {
+            highestScores.forEach((playerId, score) -> updates.add(new ScoreUpdate(leaderboard.getId(), playerId, score)));
+        }
+
+        if (updates.isEmpty()) {
+            return Map.of();
+        }
+
+        int[] updated = leaderboardEntryBatchRepository.upsertIfHigher(updates);
+        Map<String, Integer> updatedCounts = new HashMap<>();
+        for (int i = 0; i < updated.length; i++) {
+            ScoreUpdate update = updates.get(i);
+            scoreEventLog.appendAfterCommit(update.leaderboardId(), update.playerId(), update.score(), updated[i] > 0);
+            if (updated[i] > 0) {
+                rankIndexRegistry.offerAfterCommit(update.leaderboardId(), update.playerId(), update.score());
+                updatedCounts.merge(update.playerId(), 1, Integer::sum);
+            }
+        }
+        return updatedCounts;
+    }
+
+    private Map<String, Integer> enqueueScoresInActiveLeaderboardsIfEligible(Map<String, Integer> highestScores, List<Leaderboard> leaderboards) {
+        Map<String, List<CompletableFuture<Boolean>>> submissionsByPlayer = new HashMap<>();
+        List<CompletableFuture<Boolean>> submissions = new ArrayList<>();
+
+        for (Leaderboard leaderboard: leaderboards) {
+            highestScores.forEach((playerId, score) ->
+                    enqueueScoreIfHigher(leaderboard.getId(), playerId, score).ifPresent(submission -> {
+                        submissions.add(submission);
+                        submissionsByPlayer.computeIfAbsent(playerId, id -> new ArrayList<>()).add(submission);
+                    }));
+        }
+        scoreIngestionPipeline.awaitDurability(submissions);
+
+        Map<String, Integer> updatedCounts = new HashMap<>();
+        submissionsByPlayer.forEach((playerId, playerSubmissions) -> {
+            int updatedCount = (int) playerSubmissions.stream().filter(LeaderboardServiceImpl::isUpdated).count();
+            if (updatedCount != 0) {
+                updatedCounts.put(playerId, updatedCount);
+            }
+        });
+        return updatedCounts;
+    }
+
+    // INACTIVE leaderboards, ended or not yet started, never reach the update paths
+    private List<Leaderboard> getActiveLeaderboards(String gameId) {
+        ActiveLeaderboardCache.ActiveLeaderboards activeLeaderboards = activeLeaderboardCache.get(gameId, currentTimeMillis());
+        if (!activeLeaderboards.gameExists()) {
             throw new RuntimeException("No leaderboard found for given gameId.");
         }
-        AtomicInteger updatedCount = updateScoresInActiveLeaderboardsIfEligible(playerId, newScore, leaderboards, currentTimeMillis());
-        return ScoreSubmissionResponse.builder()
-                .updatedLeaderboardCount(updatedCount.get())
-                .dataUpdated(updatedCount.get() != 0)
-                .build();
+        return activeLeaderboards.leaderboards();
     }
 
     private void validateSubmitScoreRequest(String gameId, String playerId, int newScore) {
@@ -94,65 +359,118 @@ public class LeaderboardServiceImpl implements LeaderboardService {
         }
     }
 
-    private AtomicInteger updateScoresInActiveLeaderboardsIfEligible(String playerId, int newScore, List<Leaderboard> leaderboards, long currentTime) {
+    private AtomicInteger updateScoresInActiveLeaderboardsIfEligible(String playerId, int newScore, List<Leaderboard> leaderboards) {
         AtomicInteger updatedCount = new AtomicInteger(0);
+        if (leaderboards.isEmpty()) {
+            return updatedCount;
+        }
 
-        for (Leaderboard leaderboard: leaderboards) {
-            // we need to ignore updates to INACTIVE leaderboards
-            if (currentTime > leaderboard.getEndTime()) {
-                log.warn("leaderboardId: {} is INACTIVE, ignoring playerId: {} newScore: {} for it", leaderboard.getId(), playerId, newScore);
-                continue;
-            }
-
-            // First try atomic update
-            int updated = leaderboardEntryRepository.updateIfHigherScore(
-                    leaderboard.getId(), playerId, newScore
-            );
+        // single upsert per leaderboard, inserting the entry or raising its score only if newScore is higher
+        List<ScoreUpdate> updates = leaderboards.stream()
+                .map(leaderboard -> new ScoreUpdate(leaderboard.getId(), playerId, newScore))
+                .toList();
+        int[] updated = leaderboardEntryBatchRepository.upsertIfHigher(updates);
 
-            if (updated == 0) {
-                // Either no row exists OR newScore <= existing score
-                leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboard.getId(), playerId)
-                        .ifPresentOrElse(
-                                entry -> {
-                                    // Score exists but not higher → ignore
-                                },
-                                () -> {
-                                    // No entry exists → insert new
-                                    LeaderboardEntry entry = new LeaderboardEntry();
-                                    entry.setLeaderboard(leaderboard);
-                                    entry.setPlayerId(playerId);
-                                    entry.setScore(newScore);
-                                    entry.setVersion(1L);
-                                    leaderboardEntryRepository.save(entry);
-                                    updatedCount.incrementAndGet();
-                                }
-                        );
-            } else {
+        for (int i = 0; i < updated.length; i++) {
+            scoreEventLog.appendAfterCommit(updates.get(i).leaderboardId(), playerId, newScore, updated[i] > 0);
+            if (updated[i] > 0) {
+                rankIndexRegistry.offerAfterCommit(updates.get(i).leaderboardId(), playerId, newScore);
                 updatedCount.incrementAndGet();
             }
         }
         return updatedCount;
     }
 
+    private AtomicInteger enqueueScoresInActiveLeaderboardsIfEligible(String playerId, int newScore, List<Leaderboard> leaderboards) {
+        List<CompletableFuture<Boolean>> submissions = new ArrayList<>();
+
+        for (Leaderboard leaderboard: leaderboards) {
+            enqueueScoreIfHigher(leaderboard.getId(), playerId, newScore).ifPresent(submissions::add);
+        }
+        scoreIngestionPipeline.awaitDurability(submissions);
+        return new AtomicInteger((int) submissions.stream().filter(LeaderboardServiceImpl::isUpdated).count());
+    }
+
+    /**
+     * Nothing is applied until the score is queued: a full queue rejects the submission with the index and the
+     * event log untouched. The score is logged as accepted once it is written, and as ignored if a higher queued
+     * score replaced it or the database already held one as high. With ACK_ON_ENQUEUE the index is raised right
+     * away, so the player reads their own write, and reloaded from the database if the write fails.
+     *
+     * @return the submission to await, empty if the index already holds a score at least as high
+     */
+    private Optional<CompletableFuture<Boolean>> enqueueScoreIfHigher(String leaderboardId, String playerId, int score) {
+        Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+        // rank index holds the highest accepted score, so lower submissions are dropped before queueing
+        OptionalInt indexedScore = rankIndex.map(index -> index.score(playerId)).orElse(OptionalInt.empty());
+        if (indexedScore.isPresent() && indexedScore.getAsInt() >= score) {
+            scoreEventLog.append(leaderboardId, playerId, score, false);
+            return Optional.empty();
+        }
+
+        CompletableFuture<Boolean> written = scoreIngestionPipeline.enqueue(leaderboardId, playerId, score);
+        boolean appliedAhead = !scoreIngestionPipeline.acknowledgesOnFlush();
+        if (appliedAhead) {
+            rankIndex.ifPresent(index -> index.offer(playerId, score));
+        }
+        // completes after the index is raised, so an ACK_ON_FLUSH caller reads its own write as well
+        return Optional.of(written.whenComplete((updated, e) -> {
+            if (e == null) {
+                if (updated) {
+                    // looked up again, the index of a leaderboard created moments ago may only exist by now
+                    rankIndexRegistry.find(leaderboardId).ifPresent(index -> index.offer(playerId, score));
+                }
+                scoreEventLog.append(leaderboardId, playerId, score, updated);
+            } else if (appliedAhead) {
+                rankIndexRegistry.reloadPlayer(leaderboardId, playerId);
+            }
+        }));
+    }
+
+    // a submission still in flight under ACK_ON_ENQUEUE counts, one known to be replaced or ignored does not
+    private static boolean isUpdated(CompletableFuture<Boolean> submission) {
+        return !submission.isDone() || submission.isCompletedExceptionally() || submission.join();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<LeaderboardEntryResponse> getTopNPlayers(String leaderboardId,
                                                          int nPlayers) {
-        validateGetTopNPlayersRequest(leaderboardId, nPlayers);
-        List<LeaderboardEntry> topNPlayers = leaderboardEntryRepository.findTopNPlayers(
-                leaderboardId,
-                PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
-        );
-        return getLeaderboardEntryResponse(topNPlayers);
+        return leaderboardMetrics.timeService("getTopNPlayers", () -> {
+            validateGetTopNPlayersRequest(leaderboardId, nPlayers);
+            return getRankedEntryResponse(getTopNEntries(leaderboardId, nPlayers));
+        });
+    }
+
+    /**
+     * Not transactional on purpose: within the snapshot size the response is a copy of pre-encoded bytes, with no
+     * query and no serialization, and must not hold a connection. Larger N, or a leaderboard without a rank
+     * index, is read and encoded on the fly.
+     */
+    @Override
+    public byte[] getTopNPlayersJson(String leaderboardId,
+                                     int nPlayers) {
+        return leaderboardMetrics.timeService("getTopNPlayersJson", () -> {
+            validateGetTopNPlayersRequest(leaderboardId, nPlayers);
+            return rankIndexRegistry.findTopK(leaderboardId)
+                    .flatMap(rankIndex -> rankIndex.topJson(nPlayers))
+                    .or(() -> frozenStandingsCache.find(leaderboardId).map(frozen -> frozen.topJson(nPlayers)))
+                    .orElseGet(() -> TopKSnapshot.of(getTopNEntries(leaderboardId, nPlayers)).json(nPlayers));
+        });
     }
 
-    private void validateGetTopNPlayersRequest(String leaderboardId, int nPlayers) {
-        if (leaderboardId == null || leaderboardId.isEmpty()) {
-            throw new RuntimeException("LeaderboardId is invalid.");
+    private List<RankedEntry> getTopNEntries(String leaderboardId, int nPlayers) {
+        Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+        if (rankIndex.isPresent()) {
+            return rankIndex.get().top(nPlayers);
         }
-        if (nPlayers < 0) {
-            throw new RuntimeException("N count is invalid.");
+        if (rankIndexRegistry.isSealed(leaderboardId)) {
+            return getSealedEntries(leaderboardId, 1, nPlayers);
         }
+        return leaderboardEntryRepository.findTopNPlayers(
+                leaderboardId,
+                PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
+        );
     }
 
     @Override
@@ -160,15 +478,27 @@ public class LeaderboardServiceImpl implements LeaderboardService {
     public List<LeaderboardEntryResponse> getNextNPlayers(String leaderboardId,
                                                           String playerId,
                                                           int nPlayers) {
-        validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
-        LeaderboardEntry playerEntry = getPlayerEntry(leaderboardId, playerId);
-        List<LeaderboardEntry> nextNPlayers = leaderboardEntryRepository.findNextNPlayers(
-                leaderboardId,
-                playerEntry.getScore(),
-                playerEntry.getPlayerId(),
-                PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
-        );
-        return getLeaderboardEntryResponse(nextNPlayers);
+        return leaderboardMetrics.timeService("getNextNPlayers", () -> {
+            validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
+            Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+            if (rankIndex.isPresent()) {
+                int score = getPlayerScore(rankIndex.get(), playerId);
+                return getRankedEntryResponse(rankIndex.get().after(score, playerId, nPlayers));
+            }
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                int rank = getArchivedEntry(leaderboardId, playerId).rank();
+                int lastRank = (int) Math.min(Integer.MAX_VALUE, (long) rank + nPlayers);
+                return getRankedEntryResponse(getSealedEntries(leaderboardId, rank + 1, lastRank));
+            }
+            RankedEntry playerEntry = getPlayerEntry(leaderboardId, playerId);
+            List<RankedEntry> nextNPlayers = leaderboardEntryRepository.findNextNPlayers(
+                    leaderboardId,
+                    playerEntry.score(),
+                    playerEntry.playerId(),
+                    PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
+            );
+            return getRankedEntryResponse(nextNPlayers);
+        });
     }
 
     @Override
@@ -176,35 +506,158 @@ public class LeaderboardServiceImpl implements LeaderboardService {
     public List<LeaderboardEntryResponse> getPrevNPlayers(String leaderboardId,
                                                           String playerId,
                                                           int nPlayers) {
-        validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
-        LeaderboardEntry playerEntry = getPlayerEntry(leaderboardId, playerId);
-        List<LeaderboardEntry> prevNPlayers = leaderboardEntryRepository.findPrevNPlayers(
-                leaderboardId,
-                playerEntry.getScore(),
-                playerEntry.getPlayerId(),
-                PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
-        );
-        // Reverse to maintain correct ranking order (highest score first)
-        Collections.reverse(prevNPlayers);
-        return getLeaderboardEntryResponse(prevNPlayers);
+        return leaderboardMetrics.timeService("getPrevNPlayers", () -> {
+            validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
+            Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+            if (rankIndex.isPresent()) {
+                int score = getPlayerScore(rankIndex.get(), playerId);
+                return getRankedEntryResponse(rankIndex.get().before(score, playerId, nPlayers));
+            }
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                int rank = getArchivedEntry(leaderboardId, playerId).rank();
+                return getRankedEntryResponse(getSealedEntries(leaderboardId, rank - nPlayers, rank - 1));
+            }
+            RankedEntry playerEntry = getPlayerEntry(leaderboardId, playerId);
+            List<RankedEntry> prevNPlayers = leaderboardEntryRepository.findPrevNPlayers(
+                    leaderboardId,
+                    playerEntry.score(),
+                    playerEntry.playerId(),
+                    PageRequest.of(DEFAULT_PAGE_NUMBER, nPlayers)
+            );
+            // Reverse to maintain correct ranking order (highest score first)
+            Collections.reverse(prevNPlayers);
+            return getRankedEntryResponse(prevNPlayers);
+        });
     }
 
-    private void validateGetNextOrPrevNPlayersRequest(String leaderboardId, String playerId, int nPlayers) {
-        if (leaderboardId == null || leaderboardId.isEmpty()) {
-            throw new RuntimeException("LeaderboardId is invalid.");
-        }
-        if (playerId == null || playerId.isEmpty()) {
-            throw new RuntimeException("PlayerId is invalid.");
-        }
-        if (nPlayers < 0) {
-            throw new RuntimeException("N count is invalid.");
-        }
+    @Override
+    public PlayerRankResponse getPlayerRank(String leaderboardId,
+                                            String playerId) {
+        return leaderboardMetrics.timeService("getPlayerRank", () -> {
+            validateGetPlayerRankRequest(leaderboardId, playerId);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                LeaderboardArchiveRepository.ArchivedEntry archived = getArchivedEntry(leaderboardId, playerId);
+                return PlayerRankResponse.builder()
+                        .playerId(playerId)
+                        .score(archived.score())
+                        .rank(archived.rank())
+                        .build();
+            }
+            RankIndex rankIndex = rankIndexRegistry.find(leaderboardId)
+                    .orElseThrow(() -> new RuntimeException("No leaderboard found for given id."));
+            int score = getPlayerScore(rankIndex, playerId);
+            return PlayerRankResponse.builder()
+                    .playerId(playerId)
+                    .score(score)
+                    .rank(rankIndex.countAbove(score, playerId) + 1)
+                    .build();
+        });
+    }
+
+    /**
+     * Resolves the player's position once, as a node of the rank index or a rank in the archive of a sealed
+     * leaderboard, and reads both directions from it. The top entries come from the top-K snapshot.
+     */
+    @Override
+    public NeighborhoodResponse getNeighborhood(String leaderboardId,
+                                                String playerId,
+                                                int above,
+                                                int below,
+                                                int nTop) {
+        return leaderboardMetrics.timeService("getNeighborhood", () -> {
+            validateGetNeighborhoodRequest(leaderboardId, playerId, above, below, nTop);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                LeaderboardArchiveRepository.ArchivedEntry archived = getArchivedEntry(leaderboardId, playerId);
+                int rank = archived.rank();
+                int fromRank = Math.max(1, rank - above);
+                // ranks are dense, one range read holds both sides with the player at offset rank - fromRank
+                List<RankedEntry> around = getSealedEntries(
+                        leaderboardId, fromRank, (int) Math.min(Integer.MAX_VALUE, (long) rank + below)
+                );
+                return getNeighborhoodResponse(
+                        PlayerRankResponse.builder().playerId(playerId).score(archived.score()).rank(rank).build(),
+                        around.subList(0, rank - fromRank),
+                        around.subList(rank - fromRank + 1, around.size()),
+                        nTop == 0 ? null : getSealedEntries(leaderboardId, 1, nTop)
+                );
+            }
+            RankIndex rankIndex = rankIndexRegistry.find(leaderboardId)
+                    .orElseThrow(() -> new RuntimeException("No leaderboard found for given id."));
+            RankNeighborhood neighborhood = rankIndex.around(playerId, above, below)
+                    .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
+            return getNeighborhoodResponse(neighborhood, nTop == 0 ? null : rankIndex.top(nTop));
+        });
     }
 
-    private LeaderboardEntry getPlayerEntry(String leaderboardId,
+    /**
+     * Reads the player's position on every active leaderboard of the game in parallel, one task per leaderboard,
+     * and joins them into one response in the order the leaderboards were resolved. Active leaderboards always
+     * have a rank index, so every task is an in-memory read.
+     */
+    @Override
+    public PlayerStandingsResponse getPlayerStandings(String gameId,
+                                                      String playerId,
+                                                      int above,
+                                                      int below) {
+        return leaderboardMetrics.timeService("getPlayerStandings", () -> {
+            validateGetPlayerStandingsRequest(gameId, playerId, above, below);
+            List<Leaderboard> leaderboards = getActiveLeaderboards(gameId);
+            List<LeaderboardStandingResponse> standings;
+            if (leaderboards.size() <= 1) {
+                standings = leaderboards.stream()
+                        .map(leaderboard -> getStanding(leaderboard, playerId, above, below))
+                        .toList();
+            } else {
+                List<CompletableFuture<LeaderboardStandingResponse>> tasks = leaderboards.stream()
+                        .map(leaderboard -> CompletableFuture.supplyAsync(
+                                () -> getStanding(leaderboard, playerId, above, below), fanOutExecutor))
+                        .toList();
+                standings = tasks.stream().map(CompletableFuture::join).toList();
+            }
+            return PlayerStandingsResponse.builder()
+                    .gameId(gameId)
+                    .playerId(playerId)
+                    .standings(standings)
+                    .build();
+        });
+    }
+
+    private LeaderboardStandingResponse getStanding(Leaderboard leaderboard, String playerId, int above, int below) {
+        return LeaderboardStandingResponse.builder()
+                .leaderboardId(leaderboard.getId())
+                .startTime(leaderboard.getStartTime())
+                .endTime(leaderboard.getEndTime())
+                .neighborhood(rankIndexRegistry.find(leaderboard.getId())
+                        .flatMap(rankIndex -> rankIndex.around(playerId, above, below))
+                        .map(neighborhood -> getNeighborhoodResponse(neighborhood, null))
+                        .orElse(null))
+                .build();
+    }
+
+    private RankedEntry getPlayerEntry(String leaderboardId,
                                             String playerId) {
         return leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, playerId)
                 .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
     }
 
+    private LeaderboardArchiveRepository.ArchivedEntry getArchivedEntry(String leaderboardId,
+                                                                        String playerId) {
+        Optional<FrozenStandings> frozen = frozenStandingsCache.find(leaderboardId);
+        return frozen.map(standings -> standings.findByPlayer(playerId))
+                .orElseGet(() -> leaderboardArchiveRepository.findByPlayer(leaderboardId, playerId))
+                .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
+    }
+
+    private List<RankedEntry> getSealedEntries(String leaderboardId, int fromRank, int toRank) {
+        return frozenStandingsCache.find(leaderboardId)
+                .map(frozen -> frozen.byRankRange(fromRank, toRank))
+                .orElseGet(() -> leaderboardArchiveRepository.findByRankRange(leaderboardId, fromRank, toRank));
+    }
+
+    private int getPlayerScore(RankIndex rankIndex,
+                               String playerId) {
+        return rankIndex.score(playerId)
+                .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
+    }
+
 }
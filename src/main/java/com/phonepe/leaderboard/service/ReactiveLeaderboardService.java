@@ -0,0 +1,69 @@
+package com.phonepe.leaderboard.service;
+
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
+import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
+import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Non-blocking variant of {@link LeaderboardService}, with the same operations and responses. Nothing happens
+ * until the returned publisher is subscribed to.
+ */
+public interface ReactiveLeaderboardService {
+
+    Mono<CreateLeaderboardResponse> createLeaderboard(String gameId, long startTime, long endTime);
+
+    /**
+     * Same content as {@link LeaderboardService#getLeaderboard(String)}, already encoded as JSON.
+     */
+    Mono<byte[]> getLeaderboardJson(String id);
+
+    Optional<String> getFrozenStandingsETag(String leaderboardId);
+
+    Flux<LeaderboardEntryResponse> exportLeaderboard(String id);
+
+    Mono<LeaderboardPageResponse> getLeaderboardPage(String id, int limit, String cursor);
+
+    Mono<ScoreSubmissionResponse> submitScore(String gameId, String playerId, int score);
+
+    Mono<BulkScoreSubmissionResponse> submitScores(String gameId, List<PlayerScore> scores);
+
+    /**
+     * Same entries as {@link LeaderboardService#getTopNPlayers(String, int)}, already encoded as a JSON array.
+     */
+    Mono<byte[]> getTopNPlayersJson(String leaderboardId,
+                                    int nPlayers);
+
+    Flux<LeaderboardEntryResponse> getNextNPlayers(String leaderboardId,
+                                                   String playerId,
+                                                   int nPlayers);
+
+    Flux<LeaderboardEntryResponse> getPrevNPlayers(String leaderboardId,
+                                                   String playerId,
+                                                   int nPlayers);
+
+    Mono<PlayerRankResponse> getPlayerRank(String leaderboardId,
+                                           String playerId);
+
+    Mono<NeighborhoodResponse> getNeighborhood(String leaderboardId,
+                                               String playerId,
+                                               int above,
+                                               int below,
+                                               int nTop);
+
+    Mono<PlayerStandingsResponse> getPlayerStandings(String gameId,
+                                                     String playerId,
+                                                     int above,
+                                                     int below);
+
+}
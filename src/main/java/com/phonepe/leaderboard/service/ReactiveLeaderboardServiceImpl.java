@@ -0,0 +1,289 @@
+package com.phonepe.leaderboard.service;
+
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
+import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
+import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankNeighborhood;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.TopKSnapshot;
+import com.phonepe.leaderboard.repository.ReactiveLeaderboardEntryRepository;
+import com.phonepe.leaderboard.util.LeaderboardUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static com.phonepe.leaderboard.constants.Constants.MAX_PAGE_SIZE;
+import static com.phonepe.leaderboard.service.LeaderboardRequestValidator.*;
+import static com.phonepe.leaderboard.util.LeaderboardUtil.*;
+
+/**
+ * Reads of live leaderboards are answered from the in-memory rank index, or through R2DBC when a leaderboard has
+ * no index, on the calling event loop thread.
+ * <p>
+ * Top-N reads come from the top-K snapshot without locking. Rank, neighbour and paging reads take the read lock
+ * of the skip list, or of each shard they visit, so an event loop can wait behind a score write to the same list.
+ * A write holds the lock for one O(log n) update, and readers never wait on I/O, so the reads stay on the event
+ * loop rather than paying a hop to a worker thread.
+ * <p>
+ * Score submissions and leaderboard creation go through the ingestion pipeline, the event log and the JPA
+ * transaction that publishes to the rank index, and sealed leaderboards are read through the frozen standings
+ * cache and the JDBC archive. Those calls are delegated to {@link LeaderboardService} on the bounded elastic
+ * scheduler, so they hold a worker thread but never an event loop thread.
+ */
+@Component
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveLeaderboardServiceImpl implements ReactiveLeaderboardService {
+
+    private final LeaderboardService leaderboardService;
+    private final RankIndexRegistry rankIndexRegistry;
+    private final ReactiveLeaderboardEntryRepository reactiveLeaderboardEntryRepository;
+    private final LeaderboardMetrics leaderboardMetrics;
+
+    @Override
+    public Mono<CreateLeaderboardResponse> createLeaderboard(String gameId, long startTime, long endTime) {
+        return blocking(() -> leaderboardService.createLeaderboard(gameId, startTime, endTime));
+    }
+
+    @Override
+    public Mono<byte[]> getLeaderboardJson(String id) {
+        return Mono.defer(() -> {
+            validateGetLeaderboardRequest(id);
+            if (rankIndexRegistry.isSealed(id)) {
+                return blocking(() -> leaderboardService.getLeaderboardJson(id));
+            }
+            return leaderboardMetrics.timeService("getLeaderboardJson", requireLeaderboard(id)
+                    .thenMany(reactiveLeaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(id))
+                    .collectList()
+                    .map(LeaderboardUtil::getLeaderboardJson));
+        });
+    }
+
+    @Override
+    public Optional<String> getFrozenStandingsETag(String leaderboardId) {
+        return leaderboardService.getFrozenStandingsETag(leaderboardId);
+    }
+
+    /**
+     * Entries are fetched as the client consumes them: a slow client slows down the cursor instead of buffering
+     * the leaderboard in memory.
+     */
+    @Override
+    public Flux<LeaderboardEntryResponse> exportLeaderboard(String id) {
+        return Flux.defer(() -> {
+            validateGetLeaderboardRequest(id);
+            if (rankIndexRegistry.isSealed(id)) {
+                // archived standings are read a page at a time, each page only once the previous one was consumed
+                return blocking(() -> leaderboardService.getLeaderboardPage(id, MAX_PAGE_SIZE, null))
+                        .expand(page -> page.getNextCursor() == null
+                                ? Mono.empty()
+                                : blocking(() -> leaderboardService.getLeaderboardPage(id, MAX_PAGE_SIZE, page.getNextCursor())))
+                        .concatMapIterable(LeaderboardPageResponse::getScores);
+            }
+            return leaderboardMetrics.timeService("exportLeaderboard", requireLeaderboard(id)
+                    .thenMany(reactiveLeaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc(id))
+                    .map(LeaderboardUtil::getRankedEntryResponse));
+        });
+    }
+
+    @Override
+    public Mono<LeaderboardPageResponse> getLeaderboardPage(String id, int limit, String cursor) {
+        return Mono.defer(() -> {
+            validateGetLeaderboardPageRequest(id, limit);
+            if (rankIndexRegistry.isSealed(id)) {
+                return blocking(() -> leaderboardService.getLeaderboardPage(id, limit, cursor));
+            }
+            RankedEntry after = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor);
+            // one extra entry tells whether there is a next page without an extra round trip
+            return leaderboardMetrics.timeService("getLeaderboardPage", getEntriesAfter(id, after, limit + 1)
+                    .collectList()
+                    .map(entries -> getLeaderboardPageResponse(entries, limit)));
+        });
+    }
+
+    private Flux<RankedEntry> getEntriesAfter(String leaderboardId, RankedEntry after, int limit) {
+        Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+        if (rankIndex.isPresent()) {
+            return Flux.fromIterable(after == null
+                    ? rankIndex.get().top(limit)
+                    : rankIndex.get().after(after.score(), after.playerId(), limit));
+        }
+        return after == null
+                ? reactiveLeaderboardEntryRepository.findTopNPlayers(leaderboardId, limit)
+                : reactiveLeaderboardEntryRepository.findNextNPlayers(leaderboardId, after.score(), after.playerId(), limit);
+    }
+
+    @Override
+    public Mono<ScoreSubmissionResponse> submitScore(String gameId, String playerId, int score) {
+        return blocking(() -> leaderboardService.submitScore(gameId, playerId, score));
+    }
+
+    @Override
+    public Mono<BulkScoreSubmissionResponse> submitScores(String gameId, List<PlayerScore> scores) {
+        return blocking(() -> leaderboardService.submitScores(gameId, scores));
+    }
+
+    @Override
+    public Mono<byte[]> getTopNPlayersJson(String leaderboardId,
+                                           int nPlayers) {
+        return Mono.defer(() -> {
+            validateGetTopNPlayersRequest(leaderboardId, nPlayers);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                return blocking(() -> leaderboardService.getTopNPlayersJson(leaderboardId, nPlayers));
+            }
+            Optional<byte[]> snapshot = rankIndexRegistry.findTopK(leaderboardId)
+                    .flatMap(rankIndex -> rankIndex.topJson(nPlayers));
+            return leaderboardMetrics.timeService("getTopNPlayersJson", snapshot.map(Mono::just)
+                    .orElseGet(() -> getEntriesAfter(leaderboardId, null, nPlayers)
+                            .collectList()
+                            .map(entries -> TopKSnapshot.of(entries).json(nPlayers))));
+        });
+    }
+
+    @Override
+    public Flux<LeaderboardEntryResponse> getNextNPlayers(String leaderboardId,
+                                                          String playerId,
+                                                          int nPlayers) {
+        return Flux.defer(() -> {
+            validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                return blocking(() -> leaderboardService.getNextNPlayers(leaderboardId, playerId, nPlayers))
+                        .flatMapIterable(entries -> entries);
+            }
+            Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+            Flux<RankedEntry> nextNPlayers = rankIndex.isPresent()
+                    ? Flux.defer(() -> Flux.fromIterable(rankIndex.get().after(
+                            getPlayerScore(rankIndex.get(), playerId), playerId, nPlayers)))
+                    : getPlayerEntry(leaderboardId, playerId).flatMapMany(playerEntry ->
+                            reactiveLeaderboardEntryRepository.findNextNPlayers(
+                                    leaderboardId, playerEntry.score(), playerEntry.playerId(), nPlayers));
+            return leaderboardMetrics.timeService("getNextNPlayers",
+                    nextNPlayers.map(LeaderboardUtil::getRankedEntryResponse));
+        });
+    }
+
+    @Override
+    public Flux<LeaderboardEntryResponse> getPrevNPlayers(String leaderboardId,
+                                                          String playerId,
+                                                          int nPlayers) {
+        return Flux.defer(() -> {
+            validateGetNextOrPrevNPlayersRequest(leaderboardId, playerId, nPlayers);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                return blocking(() -> leaderboardService.getPrevNPlayers(leaderboardId, playerId, nPlayers))
+                        .flatMapIterable(entries -> entries);
+            }
+            Optional<RankIndex> rankIndex = rankIndexRegistry.find(leaderboardId);
+            Flux<RankedEntry> prevNPlayers = rankIndex.isPresent()
+                    ? Flux.defer(() -> Flux.fromIterable(rankIndex.get().before(
+                            getPlayerScore(rankIndex.get(), playerId), playerId, nPlayers)))
+                    : getPlayerEntry(leaderboardId, playerId)
+                            .flatMapMany(playerEntry -> reactiveLeaderboardEntryRepository.findPrevNPlayers(
+                                    leaderboardId, playerEntry.score(), playerEntry.playerId(), nPlayers))
+                            .collectList()
+                            // Reverse to maintain correct ranking order (highest score first)
+                            .flatMapIterable(entries -> {
+                                Collections.reverse(entries);
+                                return entries;
+                            });
+            return leaderboardMetrics.timeService("getPrevNPlayers",
+                    prevNPlayers.map(LeaderboardUtil::getRankedEntryResponse));
+        });
+    }
+
+    @Override
+    public Mono<PlayerRankResponse> getPlayerRank(String leaderboardId,
+                                                  String playerId) {
+        return Mono.defer(() -> {
+            validateGetPlayerRankRequest(leaderboardId, playerId);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                return blocking(() -> leaderboardService.getPlayerRank(leaderboardId, playerId));
+            }
+            return leaderboardMetrics.timeService("getPlayerRank", Mono.fromSupplier(() -> {
+                RankIndex rankIndex = rankIndexRegistry.find(leaderboardId)
+                        .orElseThrow(() -> new RuntimeException("No leaderboard found for given id."));
+                int score = getPlayerScore(rankIndex, playerId);
+                return PlayerRankResponse.builder()
+                        .playerId(playerId)
+                        .score(score)
+                        .rank(rankIndex.countAbove(score, playerId) + 1)
+                        .build();
+            }));
+        });
+    }
+
+    @Override
+    public Mono<NeighborhoodResponse> getNeighborhood(String leaderboardId,
+                                                      String playerId,
+                                                      int above,
+                                                      int below,
+                                                      int nTop) {
+        return Mono.defer(() -> {
+            validateGetNeighborhoodRequest(leaderboardId, playerId, above, below, nTop);
+            if (rankIndexRegistry.isSealed(leaderboardId)) {
+                return blocking(() -> leaderboardService.getNeighborhood(leaderboardId, playerId, above, below, nTop));
+            }
+            return leaderboardMetrics.timeService("getNeighborhood", Mono.fromSupplier(() -> {
+                RankIndex rankIndex = rankIndexRegistry.find(leaderboardId)
+                        .orElseThrow(() -> new RuntimeException("No leaderboard found for given id."));
+                RankNeighborhood neighborhood = rankIndex.around(playerId, above, below)
+                        .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
+                return getNeighborhoodResponse(neighborhood, nTop == 0 ? null : rankIndex.top(nTop));
+            }));
+        });
+    }
+
+    // resolving the game's active leaderboards may query the database, the fan-out itself runs on virtual threads
+    @Override
+    public Mono<PlayerStandingsResponse> getPlayerStandings(String gameId,
+                                                            String playerId,
+                                                            int above,
+                                                            int below) {
+        return blocking(() -> leaderboardService.getPlayerStandings(gameId, playerId, above, below));
+    }
+
+    // every stored leaderboard that is not sealed has a rank index, the query only runs for unknown ids
+    private Mono<Void> requireLeaderboard(String leaderboardId) {
+        if (rankIndexRegistry.find(leaderboardId).isPresent()) {
+            return Mono.empty();
+        }
+        return reactiveLeaderboardEntryRepository.existsLeaderboard(leaderboardId)
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("No leaderboard found for given id.")))
+                .then();
+    }
+
+    private Mono<RankedEntry> getPlayerEntry(String leaderboardId,
+                                             String playerId) {
+        return reactiveLeaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, playerId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Player not found in leaderboard.")));
+    }
+
+    private int getPlayerScore(RankIndex rankIndex,
+                               String playerId) {
+        return rankIndex.score(playerId)
+                .orElseThrow(() -> new RuntimeException("Player not found in leaderboard."));
+    }
+
+    // JPA and JDBC calls block, they run on a bounded elastic worker and never on the event loop
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.phonepe.leaderboard.service.ingestion;
+
+import com.phonepe.leaderboard.config.IngestionProperties;
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.repository.LeaderboardEntryBatchRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.phonepe.leaderboard.config.IngestionProperties.Durability.ACK_ON_FLUSH;
+import static com.phonepe.leaderboard.config.IngestionProperties.Mode.WRITE_BEHIND;
+
+/**
+ * Write-behind ingestion of score submissions.
+ * <p>
+ * Submissions are coalesced per (leaderboardId, playerId), keeping only the highest score, in a bounded
+ * in-memory buffer. A single flusher thread writes the buffer in JDBC batches every flush interval, or
+ * earlier once batch size pairs are pending.
+ * <p>
+ * Every submission gets its own result: only the one holding the pair's highest score when it is flushed can be
+ * written, the ones it replaced or that were not higher complete as not written.
+ */
+@Slf4j
+@Component
+public class ScoreIngestionPipeline {
+
+    private final LeaderboardEntryBatchRepository leaderboardEntryBatchRepository;
+    private final IngestionProperties properties;
+    private final TransactionOperations transactionOperations;
+
+    private final Map<ScoreKey, PendingScore> pending = new ConcurrentHashMap<>();
+    private final Semaphore capacity;
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "score-ingestion-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScoreIngestionPipeline(LeaderboardEntryBatchRepository leaderboardEntryBatchRepository,
+                                  IngestionProperties properties,
+                                  TransactionOperations transactionOperations) {
+        this.leaderboardEntryBatchRepository = leaderboardEntryBatchRepository;
+        this.properties = properties;
+        this.transactionOperations = transactionOperations;
+        this.capacity = new Semaphore(properties.getQueueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        if (isEnabled()) {
+            long interval = properties.getFlushIntervalMs();
+            flusher.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+            log.info("Write-behind score ingestion enabled with durability: {}", properties.getDurability());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdown();
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return properties.getMode() == WRITE_BEHIND;
+    }
+
+    public boolean acknowledgesOnFlush() {
+        return properties.getDurability() == ACK_ON_FLUSH;
+    }
+
+    /**
+     * Queues a score for the player, merging it with any score still waiting to be flushed.
+     *
+     * @return a future completed with true once the score has been written, or with false if a higher score
+     * replaced it in the queue or the database already held one at least as high
+     */
+    public CompletableFuture<Boolean> enqueue(String leaderboardId, String playerId, int score) {
+        CompletableFuture<Boolean> submission = new CompletableFuture<>();
+        List<CompletableFuture<Boolean>> notWritten = new ArrayList<>(1);
+        pending.compute(new ScoreKey(leaderboardId, playerId), (key, current) -> {
+            if (current == null) {
+                if (!capacity.tryAcquire()) {
+                    throw new RuntimeException("Score ingestion queue is full.");
+                }
+                return new PendingScore(score, submission);
+            }
+            if (score > current.score) {
+                notWritten.add(current.written);
+                current.score = score;
+                current.written = submission;
+            } else {
+                notWritten.add(submission);
+            }
+            return current;
+        });
+        // completed outside compute, callers' callbacks must not run under the map's lock
+        notWritten.forEach(merged -> merged.complete(false));
+
+        if (pending.size() >= properties.getBatchSize() && earlyFlushScheduled.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                earlyFlushScheduled.set(false);
+                flush();
+            });
+        }
+        return submission;
+    }
+
+    /**
+     * Blocks until the given submissions are written when running with {@code ACK_ON_FLUSH} durability.
+     */
+    public void awaitDurability(List<CompletableFuture<Boolean>> submissions) {
+        if (!acknowledgesOnFlush() || submissions.isEmpty()) {
+            return;
+        }
+        try {
+            CompletableFuture.allOf(submissions.toArray(CompletableFuture[]::new))
+                    .get(properties.getFlushTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for score to be persisted.", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Score could not be persisted.", e);
+        }
+    }
+
+    synchronized void flush() {
+        int batchSize = properties.getBatchSize();
+        List<ScoreUpdate> batch;
+        do {
+            batch = new ArrayList<>(batchSize);
+            List<CompletableFuture<Boolean>> acknowledgements = new ArrayList<>(batchSize);
+            Iterator<ScoreKey> keys = pending.keySet().iterator();
+            while (keys.hasNext() && batch.size() < batchSize) {
+                ScoreKey key = keys.next();
+                PendingScore pendingScore = pending.remove(key);
+                if (pendingScore == null) {
+                    continue;
+                }
+                capacity.release();
+                batch.add(new ScoreUpdate(key.leaderboardId(), key.playerId(), pendingScore.score));
+                acknowledgements.add(pendingScore.written);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                // in a transaction, so that a batch retried row by row counts the rows it raises
+                List<ScoreUpdate> written = batch;
+                int[] updated = transactionOperations.execute(status -> leaderboardEntryBatchRepository.upsertIfHigher(written));
+                for (int i = 0; i < acknowledgements.size(); i++) {
+                    acknowledgements.get(i).complete(updated[i] > 0);
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} score submissions", batch.size(), e);
+                acknowledgements.forEach(ack -> ack.completeExceptionally(e));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private record ScoreKey(String leaderboardId, String playerId) {
+    }
+
+    // mutated only inside ConcurrentHashMap#compute, read after the entry has been removed
+    private static final class PendingScore {
+        private int score;
+        private CompletableFuture<Boolean> written; // the submission that brought the score
+
+        private PendingScore(int score, CompletableFuture<Boolean> written) {
+            this.score = score;
+            this.written = written;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.phonepe.leaderboard.snapshot;
+
+import com.phonepe.leaderboard.config.SnapshotProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.eventlog.ScoreEventLog;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a snapshot of every rank index at a fixed interval, and a last one on shutdown so that a clean restart
+ * has nothing to replay. Each snapshot then drops the score event log segments that no snapshot still on disk
+ * would replay.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankSnapshotScheduler {
+
+    private final SnapshotProperties properties;
+    private final RankSnapshotStore rankSnapshotStore;
+    private final RankIndexRegistry rankIndexRegistry;
+    private final LeaderboardRepository leaderboardRepository;
+    private final ScoreEventLog scoreEventLog;
+
+    private final ScheduledExecutorService snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "rank-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        if (properties.isEnabled()) {
+            long interval = properties.getIntervalMs();
+            snapshotter.scheduleWithFixedDelay(this::snapshot, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        snapshotter.shutdown();
+        if (properties.isEnabled()) {
+            snapshotter.awaitTermination(properties.getIntervalMs(), TimeUnit.MILLISECONDS);
+            snapshot();
+        }
+    }
+
+    public void snapshot() {
+        long takenAt = System.currentTimeMillis();
+        try {
+            List<RankSnapshotStore.Board> boards = new ArrayList<>();
+            for (Leaderboard leaderboard: leaderboardRepository.findAll()) {
+                rankIndexRegistry.find(leaderboard.getId())
+                        .ifPresent(index -> boards.add(new RankSnapshotStore.Board(leaderboard, index)));
+            }
+            Path file = rankSnapshotStore.write(takenAt, boards);
+            log.info("Wrote snapshot of {} leaderboards to {} in {} ms",
+                    boards.size(), file.getFileName(), System.currentTimeMillis() - takenAt);
+        } catch (Exception e) {
+            log.error("Could not write rank snapshot", e);
+            return;
+        }
+        deleteReplayedEvents();
+    }
+
+    private void deleteReplayedEvents() {
+        try {
+            OptionalLong oldest = rankSnapshotStore.oldestTakenAt();
+            if (oldest.isPresent()) {
+                int deleted = scoreEventLog.deleteBefore(oldest.getAsLong() - RankIndexRegistry.REPLAY_OVERLAP_MS);
+                if (deleted > 0) {
+                    log.info("Deleted {} score event log segments older than the oldest snapshot", deleted);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Could not delete score event log segments", e);
+        }
+    }
+
+}
@@ -0,0 +1,337 @@
+package com.phonepe.leaderboard.snapshot;
+
+import com.phonepe.leaderboard.config.SnapshotProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.ranking.PlayerDictionary;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary snapshots of every leaderboard's ranking.
+ * <p>
+ * A snapshot file holds a header, {@code magic, version, takenAt, dictionaryOffset, boardCount}, then for every
+ * leaderboard its metadata, {@code id, gameId, startTime, endTime}, followed by its entries in ranking order, split
+ * in blocks of {@code entryCount, byteLength, (score, playerCode)*} and closed by an empty block. The player
+ * dictionary closes the file, {@code playerCount, playerId*}, so an entry is a fixed 8 bytes and a player ranked on
+ * several leaderboards is written once. Strings are an unsigned short length followed by UTF-8 bytes.
+ * <p>
+ * Entries are read back block by block through memory-mapped I/O and, being in ranking order already, are bulk
+ * loaded into a rank index without any search. Files are written to a temporary name and moved into place, so
+ * the latest snapshot is always complete.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RankSnapshotStore {
+
+    private static final int MAGIC = 0x4C42534E; // "LBSN"
+    private static final int VERSION = 2;
+    private static final long DICTIONARY_OFFSET_POSITION = 16; // after magic, version and takenAt
+    private static final int BLOCK_ENTRIES = 65_536;
+    private static final int ENTRY_BYTES = 2 * Integer.BYTES;
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+
+    private final SnapshotProperties properties;
+
+    public record Board(Leaderboard leaderboard, RankIndex rankIndex) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Writes every board's entries, paging through its index so that no board is copied in full into memory.
+     * Pages are read at slightly different times; a player raised while the snapshot is written may be missing
+     * from it, which is why restores replay the changes logged from {@code takenAt} on.
+     */
+    public Path write(long takenAt, List<Board> boards) throws IOException {
+        Path directory = Paths.get(properties.getDirectory());
+        Files.createDirectories(directory);
+        Path target = directory.resolve(String.format("%s%019d%s", FILE_PREFIX, takenAt, FILE_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+
+        // codes local to the file, dense in the order players are first written
+        PlayerDictionary dictionary = new PlayerDictionary();
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(takenAt);
+            out.writeLong(0); // dictionaryOffset, patched once the boards are written
+            out.writeInt(boards.size());
+            for (Board board: boards) {
+                writeBoard(out, board, dictionary);
+            }
+
+            out.flush();
+            long dictionaryOffset = file.getChannel().position();
+            int playerCount = dictionary.size();
+            out.writeInt(playerCount);
+            for (int code = 0; code < playerCount; code++) {
+                writeString(out, dictionary.playerId(code));
+            }
+            out.flush();
+            file.getChannel().write(ByteBuffer.allocate(Long.BYTES).putLong(0, dictionaryOffset), DICTIONARY_OFFSET_POSITION);
+            file.getChannel().force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteOlderSnapshots(directory);
+        return target;
+    }
+
+    private void writeBoard(DataOutputStream out, Board board, PlayerDictionary dictionary) throws IOException {
+        Leaderboard leaderboard = board.leaderboard();
+        writeString(out, leaderboard.getId());
+        writeString(out, leaderboard.getGameId());
+        out.writeLong(leaderboard.getStartTime());
+        out.writeLong(leaderboard.getEndTime());
+
+        ByteArrayOutputStream blockBytes = new ByteArrayOutputStream(BLOCK_ENTRIES * ENTRY_BYTES);
+        DataOutputStream block = new DataOutputStream(blockBytes);
+        List<RankedEntry> page = board.rankIndex().top(BLOCK_ENTRIES);
+        while (!page.isEmpty()) {
+            blockBytes.reset();
+            for (RankedEntry entry: page) {
+                block.writeInt(entry.score());
+                block.writeInt(dictionary.intern(entry.playerId()));
+            }
+            out.writeInt(page.size());
+            out.writeInt(blockBytes.size());
+            blockBytes.writeTo(out);
+
+            RankedEntry last = page.get(page.size() - 1);
+            page = board.rankIndex().after(last.score(), last.playerId(), BLOCK_ENTRIES);
+        }
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    /**
+     * Hands every board of the latest snapshot to the loader, with an iterator over its entries in ranking order.
+     *
+     * @return the time the snapshot was taken, empty if there is none
+     */
+    public OptionalLong restoreLatest(BiConsumer<Leaderboard, Iterator<RankedEntry>> loader) throws IOException {
+        Path directory = Paths.get(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return OptionalLong.empty();
+        }
+        List<Path> snapshots = listSnapshots(directory);
+        if (snapshots.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        Path latest = snapshots.get(snapshots.size() - 1);
+
+        try (FileChannel channel = FileChannel.open(latest)) {
+            SnapshotReader reader = new SnapshotReader(channel);
+            if (reader.readInt() != MAGIC || reader.readInt() != VERSION) {
+                throw new IOException("Unsupported snapshot file: " + latest);
+            }
+            long takenAt = reader.readLong();
+            String[] playerIds = readDictionary(channel, reader.readLong());
+            int boardCount = reader.readInt();
+            for (int i = 0; i < boardCount; i++) {
+                Leaderboard leaderboard = new Leaderboard(
+                        reader.readString(), reader.readString(), reader.readLong(), reader.readLong()
+                );
+                BoardEntries entries = new BoardEntries(reader, playerIds);
+                loader.accept(leaderboard, entries);
+                entries.skipRemaining();
+            }
+            log.info("Restored {} leaderboards from snapshot {}", boardCount, latest.getFileName());
+            return OptionalLong.of(takenAt);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * @return when the oldest snapshot still on disk was taken, empty if there is none
+     */
+    public OptionalLong oldestTakenAt() throws IOException {
+        Path directory = Paths.get(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return OptionalLong.empty();
+        }
+        List<Path> snapshots = listSnapshots(directory);
+        if (snapshots.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        String name = snapshots.get(0).getFileName().toString();
+        return OptionalLong.of(Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length())));
+    }
+
+    private static String[] readDictionary(FileChannel channel, long offset) throws IOException {
+        if (offset <= 0 || offset >= channel.size()) {
+            throw new IOException("Snapshot has no player dictionary.");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, channel.size() - offset);
+        String[] playerIds = new String[buffer.getInt()];
+        for (int code = 0; code < playerIds.length; code++) {
+            byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(bytes);
+            playerIds[code] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return playerIds;
+    }
+
+    private void deleteOlderSnapshots(Path directory) throws IOException {
+        List<Path> snapshots = listSnapshots(directory);
+        for (Path old: snapshots.subList(0, Math.max(0, snapshots.size() - properties.getRetained()))) {
+            Files.deleteIfExists(old);
+        }
+    }
+
+    // oldest first, the zero padded takenAt in the name sorts chronologically
+    private static List<Path> listSnapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Identifier too long for a snapshot: " + value.substring(0, 64));
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Sequential reads over a snapshot file. Metadata is read through small buffered reads, entry blocks are
+     * memory-mapped.
+     */
+    private static final class SnapshotReader {
+
+        private final FileChannel channel;
+        private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+        private long position;
+
+        private SnapshotReader(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        int readInt() throws IOException {
+            return read(Integer.BYTES).getInt();
+        }
+
+        long readLong() throws IOException {
+            return read(Long.BYTES).getLong();
+        }
+
+        String readString() throws IOException {
+            int length = Short.toUnsignedInt(read(Short.BYTES).getShort());
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            readFully(bytes);
+            return new String(bytes.array(), StandardCharsets.UTF_8);
+        }
+
+        MappedByteBuffer map(int length) throws IOException {
+            MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            position += length;
+            return block;
+        }
+
+        private ByteBuffer read(int length) throws IOException {
+            scratch.clear().limit(length);
+            readFully(scratch);
+            return scratch.flip();
+        }
+
+        private void readFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    throw new EOFException("Truncated snapshot file.");
+                }
+                position += read;
+            }
+        }
+    }
+
+    /**
+     * Entries of one board, decoded lazily from one mapped block at a time.
+     */
+    private static final class BoardEntries implements Iterator<RankedEntry> {
+
+        private final SnapshotReader reader;
+        private final String[] playerIds;
+        private MappedByteBuffer block;
+        private int remaining;
+        private boolean finished;
+
+        private BoardEntries(SnapshotReader reader, String[] playerIds) {
+            this.reader = reader;
+            this.playerIds = playerIds;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (!finished && remaining == 0) {
+                    int count = reader.readInt();
+                    int length = reader.readInt();
+                    if (count == 0) {
+                        finished = true;
+                        block = null;
+                    } else {
+                        block = reader.map(length);
+                        remaining = count;
+                    }
+                }
+                return remaining > 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public RankedEntry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            int score = block.getInt();
+            int player = block.getInt();
+            if (player < 0 || player >= playerIds.length) {
+                throw new UncheckedIOException(new IOException("Snapshot refers to an unknown player code: " + player));
+            }
+            return new RankedEntry(playerIds[player], score);
+        }
+
+        // a loader may stop early, the reader still has to be positioned after the board
+        void skipRemaining() {
+            while (hasNext()) {
+                remaining = 0;
+            }
+        }
+    }
+
+}
@@ -1,12 +1,20 @@
 package com.phonepe.leaderboard.util;
 
 import com.phonepe.leaderboard.data.model.Leaderboard;
-import com.phonepe.leaderboard.data.model.LeaderboardEntry;
 import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.ranking.RankNeighborhood;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.TopKSnapshot;
 import lombok.experimental.UtilityClass;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 @UtilityClass
@@ -20,23 +28,109 @@ public class LeaderboardUtil {
         return leaderboard;
     }
 
-    public static GetLeaderboardResponse getLeaderboardResponse(List<LeaderboardEntry> leaderboardEntries) {
-        List<GetLeaderboardResponse.Player> players = new ArrayList<>();
-        for (LeaderboardEntry entry: leaderboardEntries) {
+    public static GetLeaderboardResponse getLeaderboardResponse(List<RankedEntry> leaderboardEntries) {
+        List<GetLeaderboardResponse.Player> players = new ArrayList<>(leaderboardEntries.size());
+        for (RankedEntry entry: leaderboardEntries) {
             players.add(
                     new GetLeaderboardResponse.Player(
-                            entry.getPlayerId(),
-                            entry.getScore()
+                            entry.playerId(),
+                            entry.score()
                     )
             );
         }
         return GetLeaderboardResponse.builder().scores(players).build();
     }
 
-    public static List<LeaderboardEntryResponse> getLeaderboardEntryResponse(List<LeaderboardEntry> entries) {
+    public static List<LeaderboardEntryResponse> getRankedEntryResponse(List<RankedEntry> entries) {
         return entries.stream()
-                .map(e -> LeaderboardEntryResponse.builder().playerId(e.getPlayerId()).score(e.getScore()).build())
+                .map(LeaderboardUtil::getRankedEntryResponse)
                 .toList();
     }
 
+    public static LeaderboardEntryResponse getRankedEntryResponse(RankedEntry entry) {
+        return LeaderboardEntryResponse.builder().playerId(entry.playerId()).score(entry.score()).build();
+    }
+
+    /**
+     * @param entries up to limit + 1 entries following the previous page, the extra one only tells that there is a
+     *                next page
+     */
+    public static LeaderboardPageResponse getLeaderboardPageResponse(List<RankedEntry> entries, int limit) {
+        String nextCursor = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            RankedEntry last = entries.get(limit - 1);
+            nextCursor = encodeCursor(last.playerId(), last.score());
+        }
+        return LeaderboardPageResponse.builder()
+                .scores(getRankedEntryResponse(entries))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * @param top null when the top entries were not requested
+     */
+    public static NeighborhoodResponse getNeighborhoodResponse(PlayerRankResponse player,
+                                                               List<RankedEntry> above,
+                                                               List<RankedEntry> below,
+                                                               List<RankedEntry> top) {
+        return NeighborhoodResponse.builder()
+                .player(player)
+                .above(getRankedEntryResponse(above))
+                .below(getRankedEntryResponse(below))
+                .top(top == null ? null : getRankedEntryResponse(top))
+                .build();
+    }
+
+    /**
+     * @param top null when the top entries were not requested
+     */
+    public static NeighborhoodResponse getNeighborhoodResponse(RankNeighborhood neighborhood, List<RankedEntry> top) {
+        return getNeighborhoodResponse(
+                PlayerRankResponse.builder()
+                        .playerId(neighborhood.entry().playerId())
+                        .score(neighborhood.entry().score())
+                        .rank(neighborhood.rank())
+                        .build(),
+                neighborhood.above(),
+                neighborhood.below(),
+                top
+        );
+    }
+
+    /**
+     * Same JSON as a serialized {@link GetLeaderboardResponse} holding the entries, {@code {"scores":[..]}}.
+     */
+    public static byte[] getLeaderboardJson(List<RankedEntry> leaderboardEntries) {
+        byte[] scores = TopKSnapshot.of(leaderboardEntries).json(leaderboardEntries.size());
+        byte[] prefix = "{\"scores\":".getBytes(StandardCharsets.UTF_8);
+        byte[] json = Arrays.copyOf(prefix, prefix.length + scores.length + 1);
+        System.arraycopy(scores, 0, json, prefix.length, scores.length);
+        json[json.length - 1] = '}';
+        return json;
+    }
+
+    /**
+     * Opaque continuation token holding the (score, playerId) key of the last entry of a page.
+     */
+    public static String encodeCursor(String playerId, int score) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString((score + ":" + playerId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RankedEntry decodeCursor(String cursor) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = key.indexOf(':');
+            if (separator <= 0 || separator == key.length() - 1) {
+                throw new IllegalArgumentException("Missing cursor separator");
+            }
+            return new RankedEntry(key.substring(separator + 1), Integer.parseInt(key.substring(0, separator)));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Cursor is invalid.");
+        }
+    }
+
 }
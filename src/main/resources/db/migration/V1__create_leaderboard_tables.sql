@@ -0,0 +1,18 @@
+create table leaderboard (
+    id         varchar(255) not null,
+    game_id    varchar(255),
+    start_time bigint       not null,
+    end_time   bigint       not null,
+    primary key (id)
+);
+
+create table leaderboard_entries (
+    id             varchar(255) not null,
+    leaderboard_id varchar(255) not null,
+    player_id      varchar(255) not null,
+    score          integer      not null,
+    version        bigint,
+    primary key (id),
+    constraint uk_leaderboard_entries_leaderboard_player unique (leaderboard_id, player_id),
+    constraint fk_leaderboard_entries_leaderboard foreign key (leaderboard_id) references leaderboard (id)
+);
@@ -0,0 +1,3 @@
+-- Matches the (score desc, playerId asc) order of every rank query and holds both selected columns,
+-- so top-N and neighbour seeks are index range scans with no sort and no table lookup.
+create index idx_leaderboard_entries_rank on leaderboard_entries (leaderboard_id, score desc, player_id);
@@ -0,0 +1,17 @@
+-- PENDING until startTime, ACTIVE until sealed, SEALED once its final standings moved to the archive.
+alter table leaderboard add column status varchar(16) default 'PENDING' not null;
+
+-- Submissions load the unsealed leaderboards of a game.
+create index idx_leaderboard_game_status on leaderboard (game_id, status);
+
+-- Final standings of sealed leaderboards, written once with their rank and never updated, so top-N and
+-- neighbour reads are primary key range scans and a player's rank is a single lookup.
+create table leaderboard_archive_entries (
+    leaderboard_id varchar(255) not null,
+    player_rank    integer      not null,
+    player_id      varchar(255) not null,
+    score          integer      not null,
+    primary key (leaderboard_id, player_rank),
+    constraint uk_leaderboard_archive_entries_player unique (leaderboard_id, player_id),
+    constraint fk_leaderboard_archive_entries_leaderboard foreign key (leaderboard_id) references leaderboard (id)
+);
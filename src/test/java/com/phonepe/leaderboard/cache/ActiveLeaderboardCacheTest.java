@@ -0,0 +1,116 @@
+package com.phonepe.leaderboard.cache;
+
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveLeaderboardCacheTest {
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    @InjectMocks
+    private ActiveLeaderboardCache activeLeaderboardCache;
+
+    @Test
+    void testGet_shouldOnlyReturnStartedAndNotEndedLeaderboards() {
+        Leaderboard ended = new Leaderboard("lb-ended", "g1", 0, 100);
+        Leaderboard active = new Leaderboard("lb-active", "g1", 100, 300);
+        Leaderboard upcoming = new Leaderboard("lb-upcoming", "g1", 250, 400);
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of(ended, active, upcoming));
+
+        ActiveLeaderboardCache.ActiveLeaderboards result = activeLeaderboardCache.get("g1", 200);
+
+        assertTrue(result.gameExists());
+        assertEquals(List.of(active), result.leaderboards());
+        assertEquals(250, result.validUntil());
+    }
+
+    @Test
+    void testGet_shouldReloadOnceActiveSetChanges() {
+        Leaderboard first = new Leaderboard("lb1", "g1", 0, 100);
+        Leaderboard second = new Leaderboard("lb2", "g1", 150, 300);
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of(first, second));
+
+        assertEquals(List.of(first), activeLeaderboardCache.get("g1", 50).leaderboards());
+        assertEquals(List.of(first), activeLeaderboardCache.get("g1", 100).leaderboards());
+        verify(leaderboardRepository, times(1)).findUnsealedByGameId("g1");
+
+        assertTrue(activeLeaderboardCache.get("g1", 101).leaderboards().isEmpty());
+        assertEquals(List.of(second), activeLeaderboardCache.get("g1", 150).leaderboards());
+        verify(leaderboardRepository, times(3)).findUnsealedByGameId("g1");
+    }
+
+    @Test
+    void testGet_shouldNotCacheUnknownGames() {
+        when(leaderboardRepository.findUnsealedByGameId("g404")).thenReturn(List.of());
+
+        assertFalse(activeLeaderboardCache.get("g404", 0).gameExists());
+        assertFalse(activeLeaderboardCache.get("g404", 0).gameExists());
+
+        verify(leaderboardRepository, times(2)).findUnsealedByGameId("g404");
+    }
+
+    @Test
+    void testInvalidate_shouldReloadGame() {
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of(new Leaderboard("lb1", "g1", 0, 100)));
+
+        activeLeaderboardCache.get("g1", 50);
+        activeLeaderboardCache.invalidate("g1");
+        activeLeaderboardCache.get("g1", 50);
+
+        verify(leaderboardRepository, times(2)).findUnsealedByGameId("g1");
+    }
+
+    @Test
+    void testInvalidate_duringLoadShouldKeepLoadedResultOutOfCache() {
+        Leaderboard stale = new Leaderboard("lb1", "g1", 0, 100);
+        Leaderboard created = new Leaderboard("lb2", "g1", 0, 100);
+        when(leaderboardRepository.findUnsealedByGameId("g1"))
+                .thenAnswer(invocation -> {
+                    // a leaderboard is created while this load is in flight
+                    activeLeaderboardCache.invalidate("g1");
+                    return List.of(stale);
+                })
+                .thenReturn(List.of(stale, created));
+
+        assertEquals(List.of(stale), activeLeaderboardCache.get("g1", 50).leaderboards());
+        assertEquals(List.of(stale, created), activeLeaderboardCache.get("g1", 50).leaderboards());
+        assertEquals(List.of(stale, created), activeLeaderboardCache.get("g1", 50).leaderboards());
+
+        verify(leaderboardRepository, times(2)).findUnsealedByGameId("g1");
+    }
+
+    @Test
+    void testGet_shouldNotExpireLeaderboardThatNeverEnds() {
+        Leaderboard endless = new Leaderboard("lb1", "g1", 0, Long.MAX_VALUE);
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of(endless));
+
+        assertEquals(Long.MAX_VALUE, activeLeaderboardCache.get("g1", 50).validUntil());
+        assertEquals(List.of(endless), activeLeaderboardCache.get("g1", 60).leaderboards());
+
+        verify(leaderboardRepository, times(1)).findUnsealedByGameId("g1");
+    }
+
+    @Test
+    void testGet_shouldKnowGameWhoseLeaderboardsAreAllSealed() {
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of());
+        when(leaderboardRepository.existsByGameId("g1")).thenReturn(true);
+
+        ActiveLeaderboardCache.ActiveLeaderboards result = activeLeaderboardCache.get("g1", 50);
+
+        assertTrue(result.gameExists());
+        assertTrue(result.leaderboards().isEmpty());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.phonepe.leaderboard.cache;
+
+import com.phonepe.leaderboard.config.FrozenStandingsProperties;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FrozenStandingsCacheTest {
+
+    @Mock
+    private RankIndexRegistry rankIndexRegistry;
+
+    @Mock
+    private LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    private FrozenStandingsProperties properties;
+
+    private FrozenStandingsCache frozenStandingsCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FrozenStandingsProperties();
+        properties.setMaxEntries(3);
+        properties.setMaxLeaderboardEntries(10);
+        frozenStandingsCache = new FrozenStandingsCache(properties, rankIndexRegistry, leaderboardArchiveRepository);
+    }
+
+    @Test
+    void testFind_shouldLoadSealedLeaderboardOnce() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.count("lb1")).thenReturn(2);
+        when(leaderboardArchiveRepository.findAll("lb1"))
+                .thenReturn(List.of(new RankedEntry("p1", 90), new RankedEntry("p2", 80)));
+
+        FrozenStandings standings = frozenStandingsCache.find("lb1").orElseThrow();
+
+        assertSame(standings, frozenStandingsCache.find("lb1").orElseThrow());
+        assertEquals("[{\"playerId\":\"p1\",\"score\":90}]", new String(standings.topJson(1), StandardCharsets.UTF_8));
+        assertEquals(List.of(new RankedEntry("p2", 80)), standings.byRankRange(2, 5));
+        assertEquals(Optional.of(new LeaderboardArchiveRepository.ArchivedEntry(2, "p2", 80)), standings.findByPlayer("p2"));
+        assertTrue(standings.findByPlayer("p3").isEmpty());
+        verify(leaderboardArchiveRepository, times(1)).findAll("lb1");
+    }
+
+    @Test
+    void testFind_shouldIgnoreLeaderboardsThatAreNotSealed() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+
+        assertTrue(frozenStandingsCache.find("lb1").isEmpty());
+        verifyNoInteractions(leaderboardArchiveRepository);
+    }
+
+    @Test
+    void testFind_shouldNotKeepOversizedLeaderboards() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.count("lb1")).thenReturn(11);
+
+        assertTrue(frozenStandingsCache.find("lb1").isEmpty());
+        assertTrue(frozenStandingsCache.find("lb1").isEmpty());
+        verify(leaderboardArchiveRepository, times(1)).count("lb1");
+        verify(leaderboardArchiveRepository, never()).findAll("lb1");
+    }
+
+    @Test
+    void testFind_shouldEvictEarliestLoadedBeyondMaxEntries() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.count("lb1")).thenReturn(2);
+        when(leaderboardArchiveRepository.findAll("lb1"))
+                .thenReturn(List.of(new RankedEntry("p1", 20), new RankedEntry("p2", 10)));
+        assertTrue(frozenStandingsCache.find("lb1").isPresent());
+        for (String id : List.of("lb2", "lb3")) {
+            when(rankIndexRegistry.isSealed(id)).thenReturn(true);
+            when(leaderboardArchiveRepository.count(id)).thenReturn(1);
+            when(leaderboardArchiveRepository.findAll(id)).thenReturn(List.of(new RankedEntry("p1", 10)));
+            assertTrue(frozenStandingsCache.find(id).isPresent());
+        }
+
+        frozenStandingsCache.find("lb2");
+        frozenStandingsCache.find("lb3");
+        frozenStandingsCache.find("lb1");
+
+        verify(leaderboardArchiveRepository, times(2)).findAll("lb1");
+        verify(leaderboardArchiveRepository, times(1)).findAll("lb2");
+        verify(leaderboardArchiveRepository, times(1)).findAll("lb3");
+    }
+
+    @Test
+    void testFind_concurrentFirstReadsShouldShareOneLoadWithoutBlockingOtherLeaderboards() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        for (String id : List.of("lb1", "lb2")) {
+            when(rankIndexRegistry.isSealed(id)).thenReturn(true);
+            when(leaderboardArchiveRepository.count(id)).thenReturn(1);
+        }
+        when(leaderboardArchiveRepository.findAll("lb1")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of(new RankedEntry("p1", 10));
+        });
+        when(leaderboardArchiveRepository.findAll("lb2")).thenReturn(List.of(new RankedEntry("p2", 20)));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Optional<FrozenStandings>>> reads = new ArrayList<>();
+            reads.add(executor.submit(() -> frozenStandingsCache.find("lb1")));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            reads.add(executor.submit(() -> frozenStandingsCache.find("lb1")));
+            reads.add(executor.submit(() -> frozenStandingsCache.find("lb1")));
+
+            assertTrue(executor.submit(() -> frozenStandingsCache.find("lb2")).get(5, TimeUnit.SECONDS).isPresent());
+            release.countDown();
+
+            FrozenStandings standings = reads.get(0).get(5, TimeUnit.SECONDS).orElseThrow();
+            for (Future<Optional<FrozenStandings>> read : reads) {
+                assertSame(standings, read.get(5, TimeUnit.SECONDS).orElseThrow());
+            }
+            verify(leaderboardArchiveRepository, times(1)).findAll("lb1");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFind_shouldLoadAgainAfterFailedLoad() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.count("lb1")).thenReturn(1);
+        when(leaderboardArchiveRepository.findAll("lb1"))
+                .thenThrow(new RuntimeException("Archive is unavailable."))
+                .thenReturn(List.of(new RankedEntry("p1", 10)));
+
+        assertThrows(RuntimeException.class, () -> frozenStandingsCache.find("lb1"));
+
+        assertTrue(frozenStandingsCache.find("lb1").isPresent());
+    }
+
+}
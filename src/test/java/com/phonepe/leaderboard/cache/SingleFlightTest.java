@@ -0,0 +1,143 @@
+package com.phonepe.leaderboard.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testGet_concurrentIdenticalCallsShouldShareOneComputation() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(0, 10);
+        AtomicInteger computations = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<SingleFlight.Result<Integer>> leader = executor.submit(() -> singleFlight.get("top", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<SingleFlight.Result<Integer>>> joiners = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                joiners.add(executor.submit(() -> singleFlight.get("top", computations::incrementAndGet)));
+            }
+            Thread.sleep(50); // joiners are waiting on the computation in flight
+            release.countDown();
+
+            assertEquals(new SingleFlight.Result<>(42, SingleFlight.Outcome.COMPUTED), leader.get(5, TimeUnit.SECONDS));
+            for (Future<SingleFlight.Result<Integer>> joiner: joiners) {
+                assertEquals(new SingleFlight.Result<>(42, SingleFlight.Outcome.JOINED), joiner.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, computations.get());
+            assertEquals(0, singleFlight.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGet_shouldComputeAgainOnceComputationCompletedWithoutTtl() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(0, 10);
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.get("top", computations::incrementAndGet);
+        SingleFlight.Result<Integer> result = singleFlight.get("top", computations::incrementAndGet);
+
+        assertEquals(new SingleFlight.Result<>(2, SingleFlight.Outcome.COMPUTED), result);
+    }
+
+    @Test
+    void testGet_shouldServeResultWithinTtl() {
+        AtomicLong clock = new AtomicLong();
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10, 10, clock::get);
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.get("top", computations::incrementAndGet);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(9));
+        assertEquals(new SingleFlight.Result<>(1, SingleFlight.Outcome.CACHED),
+                singleFlight.get("top", computations::incrementAndGet));
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(new SingleFlight.Result<>(2, SingleFlight.Outcome.COMPUTED),
+                singleFlight.get("top", computations::incrementAndGet));
+    }
+
+    @Test
+    void testGet_shouldNotKeepFailures() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10, 10);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> singleFlight.get("top", () -> {
+            throw new RuntimeException("No leaderboard found for given id.");
+        }));
+
+        assertEquals("No leaderboard found for given id.", e.getMessage());
+        assertEquals(0, singleFlight.size());
+        assertEquals(new SingleFlight.Result<>(1, SingleFlight.Outcome.COMPUTED), singleFlight.get("top", () -> 1));
+    }
+
+    @Test
+    void testGet_shouldShareFailureWithJoiners() throws Exception {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(0, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<SingleFlight.Result<Integer>> leader = executor.submit(() -> singleFlight.get("top", () -> {
+                started.countDown();
+                await(release);
+                throw new RuntimeException("N count is invalid.");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<SingleFlight.Result<Integer>> joiner = executor.submit(() -> singleFlight.get("top", () -> 1));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("N count is invalid.", assertThrows(Exception.class, leader::get).getCause().getMessage());
+            assertEquals("N count is invalid.", assertThrows(Exception.class, joiner::get).getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGet_shouldNotKeepResultsBeyondMaxEntries() {
+        AtomicLong clock = new AtomicLong();
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10, 2, clock::get);
+
+        singleFlight.get("lb1", () -> 1);
+        singleFlight.get("lb2", () -> 2);
+        singleFlight.get("lb3", () -> 3);
+        assertEquals(2, singleFlight.size());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        singleFlight.get("lb4", () -> 4);
+        singleFlight.get("lb5", () -> 5);
+
+        assertEquals(2, singleFlight.size());
+        assertEquals(SingleFlight.Outcome.CACHED, singleFlight.get("lb5", () -> 0).outcome());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
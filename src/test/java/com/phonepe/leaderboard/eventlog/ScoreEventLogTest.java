@@ -0,0 +1,167 @@
+package com.phonepe.leaderboard.eventlog;
+
+import com.phonepe.leaderboard.config.EventLogProperties;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreEventLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    private ScoreEventLog scoreEventLog;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scoreEventLog.close();
+    }
+
+    @Test
+    void testReplay_shouldReturnEventsInAppendOrder() throws Exception {
+        scoreEventLog = open(1 << 20);
+
+        scoreEventLog.append("lb1", "p1", 100, true);
+        scoreEventLog.append("lb1", "p1", 90, false);
+        scoreEventLog.append("lb2", "p2", 50, true);
+
+        assertEquals(List.of(
+                new ScoreEvent(1_000, "lb1", "p1", 100, true),
+                new ScoreEvent(1_000, "lb1", "p1", 90, false),
+                new ScoreEvent(1_000, "lb2", "p2", 50, true)
+        ), replay());
+    }
+
+    @Test
+    void testScan_shouldReturnOnlyEventsInTimeRangeAcrossSegments() throws Exception {
+        scoreEventLog = open(LogSegment.RECORD_SIZE * 3);
+
+        for (int i = 0; i < 10; i++) {
+            clock.set(1_000 + i * 10);
+            scoreEventLog.append("lb1", "p" + i, i, true);
+        }
+
+        List<ScoreEvent> events = new ArrayList<>();
+        scoreEventLog.scan(1_030, 1_070, events::add);
+
+        assertEquals(List.of(3, 4, 5, 6), events.stream().map(ScoreEvent::score).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(4, files.filter(file -> file.getFileName().toString().startsWith("segment-")).count());
+        }
+    }
+
+    @Test
+    void testAppend_shouldKeepTimestampsNonDecreasing() throws Exception {
+        scoreEventLog = open(1 << 20);
+
+        clock.set(2_000);
+        scoreEventLog.append("lb1", "p1", 1, true);
+        clock.set(1_500);
+        scoreEventLog.append("lb1", "p2", 2, true);
+
+        assertEquals(List.of(2_000L, 2_000L), replay().stream().map(ScoreEvent::timestamp).toList());
+    }
+
+    @Test
+    void testOpen_shouldRecoverEventsAndContinueAppending() throws Exception {
+        scoreEventLog = open(LogSegment.RECORD_SIZE * 4);
+        for (int i = 0; i < 6; i++) {
+            scoreEventLog.append("lb1", "p" + i, i, true);
+        }
+        scoreEventLog.close();
+
+        scoreEventLog = open(LogSegment.RECORD_SIZE * 4);
+        scoreEventLog.append("lb1", "p6", 6, true);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6), replay().stream().map(ScoreEvent::score).toList());
+        assertEquals("p6", replay().get(6).playerId());
+    }
+
+    @Test
+    void testReplay_shouldRebuildLeaderboardState() throws Exception {
+        scoreEventLog = open(1 << 20);
+        scoreEventLog.append("lb1", "p1", 100, true);
+        scoreEventLog.append("lb1", "p2", 200, true);
+        scoreEventLog.append("lb1", "p1", 50, false);
+        scoreEventLog.append("lb2", "p1", 500, true);
+
+        RankIndex rankIndex = new SkipListRankIndex();
+        scoreEventLog.replay(event -> {
+            if (event.accepted() && event.leaderboardId().equals("lb1")) {
+                rankIndex.offer(event.playerId(), event.score());
+            }
+        });
+
+        assertEquals(List.of(new RankedEntry("p2", 200), new RankedEntry("p1", 100)), rankIndex.top(10));
+    }
+
+    @Test
+    void testDeleteBefore_shouldDropOnlyWholeSegmentsOlderThanTimestamp() throws Exception {
+        scoreEventLog = open(LogSegment.RECORD_SIZE * 3);
+        for (int i = 0; i < 10; i++) {
+            clock.set(1_000 + i * 10);
+            scoreEventLog.append("lb1", "p" + i, i, true);
+        }
+
+        // the second segment ends at 1_050, so it is kept for its last event
+        assertEquals(1, scoreEventLog.deleteBefore(1_050));
+
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), replay().stream().map(ScoreEvent::score).toList());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.filter(file -> file.getFileName().toString().startsWith("segment-")).count());
+        }
+    }
+
+    @Test
+    void testDeleteBefore_shouldKeepSegmentBeingAppendedTo() throws Exception {
+        scoreEventLog = open(LogSegment.RECORD_SIZE * 3);
+        scoreEventLog.append("lb1", "p1", 1, true);
+
+        assertEquals(0, scoreEventLog.deleteBefore(Long.MAX_VALUE));
+
+        scoreEventLog.append("lb1", "p2", 2, true);
+        assertEquals(List.of(1, 2), replay().stream().map(ScoreEvent::score).toList());
+    }
+
+    @Test
+    void testAppend_shouldBeNoOpWhenDisabled() throws Exception {
+        scoreEventLog = new ScoreEventLog(new EventLogProperties());
+        scoreEventLog.open();
+
+        scoreEventLog.append("lb1", "p1", 100, true);
+
+        assertTrue(replay().isEmpty());
+    }
+
+    private ScoreEventLog open(int segmentSizeBytes) throws Exception {
+        EventLogProperties properties = new EventLogProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setSegmentSizeBytes(segmentSizeBytes);
+        properties.setForceIntervalMs(60_000);
+        ScoreEventLog eventLog = new ScoreEventLog(properties, clock::get);
+        eventLog.open();
+        return eventLog;
+    }
+
+    private List<ScoreEvent> replay() {
+        List<ScoreEvent> events = new ArrayList<>();
+        scoreEventLog.replay(events::add);
+        return events;
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.phonepe.leaderboard.feed;
+
+import com.phonepe.leaderboard.config.ChangeFeedProperties;
+import com.phonepe.leaderboard.config.RankingProperties;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.TopPlayersChangeResponse;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import com.phonepe.leaderboard.ranking.TopKRankIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardChangeFeedTest {
+
+    @Mock
+    private RankIndexRegistry rankIndexRegistry;
+
+    private TopKRankIndex rankIndex;
+
+    private LeaderboardChangeFeed leaderboardChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        rankIndex = new TopKRankIndex(new SkipListRankIndex(), 10);
+        rankIndex.offer("p1", 300);
+        rankIndex.offer("p2", 200);
+        rankIndex.offer("p3", 100);
+        leaderboardChangeFeed = new LeaderboardChangeFeed(new ChangeFeedProperties(), new RankingProperties(), rankIndexRegistry);
+    }
+
+    @Test
+    void testSubscribe_shouldOfferCurrentTopAndRank() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+        RecordingSink sink = new RecordingSink(true);
+
+        leaderboardChangeFeed.subscribe("lb1", 2, "p3", sink);
+
+        assertEquals(2, sink.events.size());
+        TopPlayersChangeResponse top = (TopPlayersChangeResponse) sink.events.get(0).data();
+        assertEquals(List.of(rank("p1", 300, 1), rank("p2", 200, 2)), top.getChanges());
+        assertEquals(2, top.getSize());
+        assertEquals(rank("p3", 100, 3), sink.events.get(1).data());
+    }
+
+    @Test
+    void testPublish_shouldCoalesceScoresIntoOneUpdateOfChangedPositions() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+        RecordingSink sink = new RecordingSink(true);
+        leaderboardChangeFeed.subscribe("lb1", 2, "p3", sink);
+        sink.events.clear();
+
+        rankIndex.offer("p3", 250);
+        rankIndex.offer("p3", 400);
+        leaderboardChangeFeed.publish();
+
+        assertEquals(2, sink.events.size());
+        assertEquals(LeaderboardChangeFeed.TOP_EVENT, sink.events.get(0).name());
+        assertEquals(
+                List.of(rank("p3", 400, 1), rank("p1", 300, 2)),
+                ((TopPlayersChangeResponse) sink.events.get(0).data()).getChanges()
+        );
+        assertEquals(LeaderboardChangeFeed.RANK_EVENT, sink.events.get(1).name());
+        assertEquals(rank("p3", 400, 1), sink.events.get(1).data());
+    }
+
+    @Test
+    void testPublish_shouldOnlySendChangesWithinSubscribersN() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+        RecordingSink sink = new RecordingSink(true);
+        leaderboardChangeFeed.subscribe("lb1", 2, null, sink);
+        sink.events.clear();
+
+        rankIndex.offer("p3", 150);
+        leaderboardChangeFeed.publish();
+        leaderboardChangeFeed.publish();
+
+        assertTrue(sink.events.isEmpty());
+    }
+
+    @Test
+    void testPublish_shouldCompleteSubscribersOfSealedLeaderboard() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex), Optional.empty());
+        RecordingSink sink = new RecordingSink(true);
+        leaderboardChangeFeed.subscribe("lb1", 2, null, sink);
+
+        leaderboardChangeFeed.publish();
+
+        assertTrue(sink.completed);
+        assertEquals(0, leaderboardChangeFeed.subscriberCount("lb1"));
+    }
+
+    @Test
+    void testPublish_shouldDropSubscriberThatCannotKeepUp() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+        RecordingSink sink = new RecordingSink(false);
+
+        leaderboardChangeFeed.subscribe("lb1", 2, null, sink);
+
+        assertTrue(sink.completed);
+        assertEquals(0, leaderboardChangeFeed.subscriberCount("lb1"));
+    }
+
+    @Test
+    void testCancel_shouldStopDeliveringChanges() {
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+        RecordingSink sink = new RecordingSink(true);
+        Runnable cancel = leaderboardChangeFeed.subscribe("lb1", 2, null, sink);
+        sink.events.clear();
+
+        cancel.run();
+        rankIndex.offer("p3", 500);
+        leaderboardChangeFeed.publish();
+
+        assertTrue(sink.events.isEmpty());
+        assertEquals(0, leaderboardChangeFeed.subscriberCount("lb1"));
+    }
+
+    @Test
+    void testSubscribe_invalidN() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> leaderboardChangeFeed.subscribe("lb1", 101, null, new RecordingSink(true)));
+
+        assertEquals("N count is invalid.", e.getMessage());
+        verifyNoInteractions(rankIndexRegistry);
+    }
+
+    private static PlayerRankResponse rank(String playerId, int score, int rank) {
+        return PlayerRankResponse.builder().playerId(playerId).score(score).rank(rank).build();
+    }
+
+    private static class RecordingSink implements LeaderboardChangeFeed.Sink {
+
+        private final boolean accepting;
+        private final List<LeaderboardChangeFeed.ChangeEvent> events = new ArrayList<>();
+        private boolean completed;
+
+        private RecordingSink(boolean accepting) {
+            this.accepting = accepting;
+        }
+
+        @Override
+        public boolean offer(LeaderboardChangeFeed.ChangeEvent event) {
+            if (accepting) {
+                events.add(event);
+            }
+            return accepting;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.phonepe.leaderboard.lifecycle;
+
+import com.phonepe.leaderboard.config.LifecycleProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.data.model.LeaderboardStatus;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardLifecycleSchedulerTest {
+
+    @Mock
+    private LeaderboardRepository leaderboardRepository;
+
+    @Mock
+    private LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    @Mock
+    private RankIndexRegistry rankIndexRegistry;
+
+    private LeaderboardLifecycleScheduler leaderboardLifecycleScheduler;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardLifecycleScheduler = new LeaderboardLifecycleScheduler(
+                new LifecycleProperties(),
+                leaderboardRepository,
+                leaderboardArchiveRepository,
+                rankIndexRegistry,
+                TransactionOperations.withoutTransaction()
+        );
+    }
+
+    @Test
+    void testAdvance_shouldArchiveEndedLeaderboardAndEvictItsIndex() {
+        Leaderboard ended = new Leaderboard("lb1", "g1", 0, 100);
+        when(leaderboardRepository.findByStatusNotAndEndTimeLessThan(eq(LeaderboardStatus.SEALED), anyLong()))
+                .thenReturn(List.of(ended));
+        when(leaderboardRepository.markSealed("lb1")).thenReturn(1);
+
+        leaderboardLifecycleScheduler.advance();
+
+        verify(leaderboardRepository).activateStarted(anyLong());
+        verify(leaderboardArchiveRepository).archive("lb1");
+        verify(rankIndexRegistry).seal("lb1");
+    }
+
+    @Test
+    void testAdvance_shouldNotArchiveLeaderboardSealedElsewhere() {
+        Leaderboard ended = new Leaderboard("lb1", "g1", 0, 100);
+        when(leaderboardRepository.findByStatusNotAndEndTimeLessThan(eq(LeaderboardStatus.SEALED), anyLong()))
+                .thenReturn(List.of(ended));
+        when(leaderboardRepository.markSealed("lb1")).thenReturn(0);
+
+        leaderboardLifecycleScheduler.advance();
+
+        verifyNoInteractions(leaderboardArchiveRepository);
+        verify(rankIndexRegistry).seal("lb1");
+    }
+
+    @Test
+    void testAdvance_shouldKeepSealingOtherLeaderboardsWhenOneFails() {
+        Leaderboard failing = new Leaderboard("lb1", "g1", 0, 100);
+        Leaderboard ended = new Leaderboard("lb2", "g1", 0, 100);
+        when(leaderboardRepository.findByStatusNotAndEndTimeLessThan(eq(LeaderboardStatus.SEALED), anyLong()))
+                .thenReturn(List.of(failing, ended));
+        when(leaderboardRepository.markSealed("lb1")).thenReturn(1);
+        when(leaderboardRepository.markSealed("lb2")).thenReturn(1);
+        when(leaderboardArchiveRepository.archive("lb1")).thenThrow(new RuntimeException("Archive insert failed."));
+
+        leaderboardLifecycleScheduler.advance();
+
+        verify(rankIndexRegistry, never()).seal("lb1");
+        verify(leaderboardArchiveRepository).archive("lb2");
+        verify(rankIndexRegistry).seal("lb2");
+    }
+
+}
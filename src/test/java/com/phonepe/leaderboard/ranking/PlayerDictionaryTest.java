@@ -0,0 +1,56 @@
+package com.phonepe.leaderboard.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDictionaryTest {
+
+    @Test
+    void testIntern_shouldAssignDenseStableCodes() {
+        PlayerDictionary playerDictionary = new PlayerDictionary();
+
+        assertEquals(0, playerDictionary.intern("p1"));
+        assertEquals(1, playerDictionary.intern("p2"));
+        assertEquals(0, playerDictionary.intern(new String("p1")));
+
+        assertEquals(1, playerDictionary.find("p2"));
+        assertEquals(PlayerDictionary.NO_CODE, playerDictionary.find("p3"));
+        assertEquals("p2", playerDictionary.playerId(1));
+        assertEquals(2, playerDictionary.size());
+    }
+
+    @Test
+    void testIntern_shouldAgreeOnCodesAcrossThreads() throws Exception {
+        PlayerDictionary playerDictionary = new PlayerDictionary();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<int[]>> interned = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            interned.add(executor.submit(() -> {
+                int[] codes = new int[20_000];
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = playerDictionary.intern("p" + i);
+                }
+                return codes;
+            }));
+        }
+        int[] expected = interned.get(0).get();
+        for (Future<int[]> codes: interned) {
+            assertArrayEquals(expected, codes.get());
+        }
+        executor.shutdown();
+
+        assertEquals(20_000, playerDictionary.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("p" + i, playerDictionary.playerId(expected[i]));
+            assertEquals(expected[i], playerDictionary.find("p" + i));
+        }
+    }
+
+}
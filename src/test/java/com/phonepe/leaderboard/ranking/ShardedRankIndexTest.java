@@ -0,0 +1,122 @@
+package com.phonepe.leaderboard.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedRankIndexTest {
+
+    @Test
+    void testConstructor_shouldRejectShardCountThatIsNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedRankIndex(3));
+    }
+
+    @Test
+    void testQueries_shouldMatchSingleSkipList() {
+        RankIndex sharded = new ShardedRankIndex(8);
+        RankIndex reference = new SkipListRankIndex();
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String playerId = "p" + random.nextInt(1_000);
+            int score = random.nextInt(500);
+            assertEquals(reference.offer(playerId, score), sharded.offer(playerId, score));
+        }
+
+        assertEquals(reference.size(), sharded.size());
+        assertEquals(reference.top(10), sharded.top(10));
+        assertEquals(reference.top(200), sharded.top(200));
+        for (RankedEntry entry: reference.top(1_000)) {
+            assertEquals(reference.score(entry.playerId()), sharded.score(entry.playerId()));
+            assertEquals(reference.countAbove(entry.score(), entry.playerId()),
+                    sharded.countAbove(entry.score(), entry.playerId()));
+            assertEquals(reference.after(entry.score(), entry.playerId(), 5),
+                    sharded.after(entry.score(), entry.playerId(), 5));
+            assertEquals(reference.before(entry.score(), entry.playerId(), 5),
+                    sharded.before(entry.score(), entry.playerId(), 5));
+            assertEquals(reference.around(entry.playerId(), 5, 3), sharded.around(entry.playerId(), 5, 3));
+        }
+    }
+
+    @Test
+    void testOffer_concurrentWritersShouldKeepHighestScorePerPlayer() throws Exception {
+        RankIndex rankIndex = new ShardedRankIndex(8);
+        RankIndex reference = new SkipListRankIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 10_000; i++) {
+                    rankIndex.offer("p" + random.nextInt(2_000), random.nextInt(100_000));
+                }
+            }));
+        }
+        for (Future<?> writer: writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        for (int t = 0; t < 8; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < 10_000; i++) {
+                reference.offer("p" + random.nextInt(2_000), random.nextInt(100_000));
+            }
+        }
+        assertEquals(reference.size(), rankIndex.size());
+        assertEquals(reference.top(50), rankIndex.top(50));
+    }
+
+    @Test
+    void testAround_shouldStayConsistentWithConcurrentWriters() throws Exception {
+        ShardedRankIndex rankIndex = new ShardedRankIndex(8);
+        rankIndex.offer("probe", 1_000);
+        for (int i = 0; i < 20_000; i++) {
+            rankIndex.offer("p" + i, 0);
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // players overtake the probe one at a time while it is read
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    rankIndex.offer("p" + i, 2_000);
+                }
+            });
+            while (!writer.isDone()) {
+                RankNeighborhood neighborhood = rankIndex.around("probe", 50_000, 1).orElseThrow();
+                assertEquals(neighborhood.rank() - 1, neighborhood.above().size());
+            }
+            writer.get();
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(20_001, rankIndex.around("probe", 50_000, 1).orElseThrow().rank());
+    }
+
+    @Test
+    void testLoadSorted_shouldMatchSingleSkipList() {
+        RankIndex reference = new SkipListRankIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            reference.offer("p" + random.nextInt(2_000), random.nextInt(300));
+        }
+
+        RankIndex sharded = new ShardedRankIndex(4);
+        sharded.loadSorted(reference.top(5_000).iterator());
+
+        assertEquals(reference.size(), sharded.size());
+        assertEquals(reference.top(5_000), sharded.top(5_000));
+        for (RankedEntry entry: reference.top(100)) {
+            assertEquals(reference.countAbove(entry.score(), entry.playerId()),
+                    sharded.countAbove(entry.score(), entry.playerId()));
+        }
+    }
+
+}
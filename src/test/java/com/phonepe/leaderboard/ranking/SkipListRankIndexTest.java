@@ -0,0 +1,190 @@
+package com.phonepe.leaderboard.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkipListRankIndexTest {
+
+    @Test
+    void testOffer_shouldKeepOnlyHigherScores() {
+        RankIndex rankIndex = new SkipListRankIndex();
+
+        assertTrue(rankIndex.offer("p1", 100));
+        assertFalse(rankIndex.offer("p1", 90));
+        assertFalse(rankIndex.offer("p1", 100));
+        assertTrue(rankIndex.offer("p1", 110));
+
+        assertEquals(1, rankIndex.size());
+        assertEquals(110, rankIndex.score("p1").getAsInt());
+        assertTrue(rankIndex.score("p404").isEmpty());
+    }
+
+    @Test
+    void testTop_shouldOrderByScoreDescThenPlayerIdAsc() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p3", 90);
+        rankIndex.offer("p1", 80);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p4", 100);
+
+        List<RankedEntry> top = rankIndex.top(10);
+
+        assertEquals(List.of(
+                new RankedEntry("p4", 100),
+                new RankedEntry("p2", 90),
+                new RankedEntry("p3", 90),
+                new RankedEntry("p1", 80)
+        ), top);
+        assertEquals(2, rankIndex.top(2).size());
+    }
+
+    @Test
+    void testCountAbove_shouldCountStrictlyHigherRankedEntries() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int i = 0; i < 1_000; i++) {
+            rankIndex.offer("p" + i, i);
+        }
+
+        assertEquals(0, rankIndex.countAbove(999, "p999"));
+        assertEquals(999, rankIndex.countAbove(0, "p0"));
+        assertEquals(500, rankIndex.countAbove(499, "p499"));
+    }
+
+    @Test
+    void testAfterAndBefore_shouldSeekAroundKey() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int i = 1; i <= 10; i++) {
+            rankIndex.offer("p" + i, i * 10);
+        }
+
+        assertEquals(List.of(new RankedEntry("p4", 40), new RankedEntry("p3", 30)),
+                rankIndex.after(50, "p5", 2));
+        assertEquals(List.of(new RankedEntry("p7", 70), new RankedEntry("p6", 60)),
+                rankIndex.before(50, "p5", 2));
+        assertTrue(rankIndex.before(100, "p10", 5).isEmpty());
+        assertTrue(rankIndex.after(10, "p1", 5).isEmpty());
+    }
+
+    @Test
+    void testAround_shouldReadRankAndBothSidesOfPlayer() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int i = 1; i <= 10; i++) {
+            rankIndex.offer("p" + i, i * 10);
+        }
+
+        RankNeighborhood neighborhood = rankIndex.around("p5", 2, 3).orElseThrow();
+
+        assertEquals(new RankedEntry("p5", 50), neighborhood.entry());
+        assertEquals(6, neighborhood.rank());
+        assertEquals(List.of(new RankedEntry("p7", 70), new RankedEntry("p6", 60)), neighborhood.above());
+        assertEquals(List.of(new RankedEntry("p4", 40), new RankedEntry("p3", 30), new RankedEntry("p2", 20)),
+                neighborhood.below());
+        assertTrue(rankIndex.around("p10", 5, 0).orElseThrow().above().isEmpty());
+        assertEquals(1, rankIndex.around("p10", 5, 0).orElseThrow().rank());
+        assertTrue(rankIndex.around("p1", 0, 5).orElseThrow().below().isEmpty());
+        assertEquals(10, rankIndex.around("p1", 0, 5).orElseThrow().rank());
+        assertTrue(rankIndex.around("p404", 1, 1).isEmpty());
+    }
+
+    @Test
+    void testOffer_shouldRepositionPlayerOnHigherScore() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p1", 10);
+        rankIndex.offer("p2", 20);
+        rankIndex.offer("p3", 30);
+
+        rankIndex.offer("p1", 40);
+
+        assertEquals(0, rankIndex.countAbove(40, "p1"));
+        assertEquals(List.of(new RankedEntry("p3", 30), new RankedEntry("p2", 20)),
+                rankIndex.after(40, "p1", 5));
+    }
+
+    @Test
+    void testReset_shouldLowerOrRemovePlayer() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int i = 1; i <= 5; i++) {
+            rankIndex.offer("p" + i, i * 10);
+        }
+
+        rankIndex.reset("p5", OptionalInt.of(15));
+        rankIndex.reset("p3", OptionalInt.empty());
+
+        assertEquals(List.of(
+                new RankedEntry("p4", 40),
+                new RankedEntry("p2", 20),
+                new RankedEntry("p5", 15),
+                new RankedEntry("p1", 10)
+        ), rankIndex.top(10));
+        assertEquals(4, rankIndex.size());
+        assertTrue(rankIndex.score("p3").isEmpty());
+        assertTrue(rankIndex.offer("p3", 5));
+        assertEquals(4, rankIndex.countAbove(5, "p3"));
+    }
+
+    @Test
+    void testLoadSorted_shouldMatchOneByOneOffers() {
+        RankIndex reference = new SkipListRankIndex();
+        for (int i = 0; i < 1_000; i++) {
+            reference.offer("p" + i, (i * 37) % 101);
+        }
+
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.loadSorted(reference.top(1_000).iterator());
+
+        assertEquals(reference.size(), rankIndex.size());
+        assertEquals(reference.top(1_000), rankIndex.top(1_000));
+        for (RankedEntry entry: reference.top(1_000)) {
+            assertEquals(reference.countAbove(entry.score(), entry.playerId()),
+                    rankIndex.countAbove(entry.score(), entry.playerId()));
+        }
+        rankIndex.offer("p1", 500);
+        assertEquals(new RankedEntry("p1", 500), rankIndex.top(1).get(0));
+    }
+
+    @Test
+    void testLoadSorted_shouldRejectEntriesOutOfOrder() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        List<RankedEntry> entries = List.of(new RankedEntry("p1", 10), new RankedEntry("p2", 20));
+
+        assertThrows(IllegalStateException.class, () -> rankIndex.loadSorted(entries.iterator()));
+    }
+
+    @Test
+    void testOffer_shouldKeepLeaderboardsSharingDictionaryIndependent() {
+        PlayerDictionary playerDictionary = new PlayerDictionary();
+        RankIndex first = new SkipListRankIndex(playerDictionary);
+        RankIndex second = new SkipListRankIndex(playerDictionary);
+
+        first.offer("p1", 10);
+        second.offer("p2", 20);
+        second.offer("p1", 5);
+
+        assertEquals(List.of(new RankedEntry("p1", 10)), first.top(5));
+        assertEquals(List.of(new RankedEntry("p2", 20), new RankedEntry("p1", 5)), second.top(5));
+        assertTrue(first.score("p2").isEmpty());
+    }
+
+    @Test
+    void testOffer_shouldStayConsistentWhenRaisingScoresRepeatedly() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int round = 1; round <= 50; round++) {
+            for (int i = 0; i < 200; i++) {
+                rankIndex.offer("p" + i, round * 1_000 + (i * 7) % 200);
+            }
+        }
+
+        List<RankedEntry> top = rankIndex.top(200);
+        assertEquals(200, rankIndex.size());
+        assertEquals(200, top.size());
+        for (int rank = 0; rank < top.size(); rank++) {
+            RankedEntry entry = top.get(rank);
+            assertEquals(rank, rankIndex.countAbove(entry.score(), entry.playerId()));
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.phonepe.leaderboard.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopKRankIndexTest {
+
+    @Test
+    void testTop_shouldFollowWritesCrossingTheKthEntry() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 3);
+        rankIndex.offer("p1", 10);
+        rankIndex.offer("p2", 20);
+        rankIndex.offer("p3", 30);
+        rankIndex.offer("p4", 5);
+
+        rankIndex.offer("p1", 40);
+        rankIndex.offer("p4", 25);
+
+        assertEquals(List.of(
+                new RankedEntry("p1", 40),
+                new RankedEntry("p3", 30),
+                new RankedEntry("p4", 25)
+        ), rankIndex.top(3));
+    }
+
+    @Test
+    void testTop_shouldMatchWrappedIndexWithinAndBeyondCapacity() {
+        RankIndex reference = new SkipListRankIndex();
+        TopKRankIndex rankIndex = new TopKRankIndex(new ShardedRankIndex(4), 20);
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            String playerId = "p" + random.nextInt(500);
+            int score = random.nextInt(1_000);
+            reference.offer(playerId, score);
+            rankIndex.offer(playerId, score);
+        }
+
+        assertEquals(reference.top(20), rankIndex.top(20));
+        assertEquals(reference.top(7), rankIndex.top(7));
+        assertEquals(reference.top(100), rankIndex.top(100));
+    }
+
+    @Test
+    void testTop_concurrentWritersShouldPublishFinalTopK() throws Exception {
+        TopKRankIndex rankIndex = new TopKRankIndex(new ShardedRankIndex(8), 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            writers.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 10_000; i++) {
+                    rankIndex.offer("p" + random.nextInt(2_000), random.nextInt(100_000));
+                }
+            }));
+        }
+        for (Future<?> writer: writers) {
+            writer.get();
+        }
+        executor.shutdown();
+
+        assertEquals(rankIndex.top(51).subList(0, 50), rankIndex.top(50));
+    }
+
+    @Test
+    void testTopJson_shouldEncodePrefixOfSnapshot() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 2);
+
+        assertEquals("[]", json(rankIndex, 2));
+
+        rankIndex.offer("p\"1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 80);
+
+        assertEquals("[]", json(rankIndex, 0));
+        assertEquals("[{\"playerId\":\"p\\\"1\",\"score\":100}]", json(rankIndex, 1));
+        assertEquals("[{\"playerId\":\"p\\\"1\",\"score\":100},{\"playerId\":\"p2\",\"score\":90}]", json(rankIndex, 2));
+        assertTrue(rankIndex.topJson(3).isEmpty());
+    }
+
+    @Test
+    void testChangeCount_shouldOnlyGrowWithAcceptedScores() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 2);
+        rankIndex.offer("p1", 100);
+        long changes = rankIndex.changeCount();
+
+        rankIndex.offer("p1", 90);
+        assertEquals(changes, rankIndex.changeCount());
+
+        rankIndex.offer("p2", 10);
+        assertEquals(changes + 1, rankIndex.changeCount());
+    }
+
+    @Test
+    void testReset_shouldRepublishSnapshotWithoutLoweredPlayer() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 2);
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 80);
+        long changes = rankIndex.changeCount();
+
+        rankIndex.reset("p1", OptionalInt.of(70));
+
+        assertEquals(List.of(new RankedEntry("p2", 90), new RankedEntry("p3", 80)), rankIndex.top(2));
+        assertEquals(changes + 1, rankIndex.changeCount());
+    }
+
+    private static String json(TopKRankIndex rankIndex, int n) {
+        return new String(rankIndex.topJson(n).orElseThrow(), StandardCharsets.UTF_8);
+    }
+
+}
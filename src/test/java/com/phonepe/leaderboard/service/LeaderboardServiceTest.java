@@ -1,29 +1,57 @@
 package com.phonepe.leaderboard.service;
 
+import com.phonepe.leaderboard.cache.ActiveLeaderboardCache;
+import com.phonepe.leaderboard.cache.FrozenStandings;
+import com.phonepe.leaderboard.cache.FrozenStandingsCache;
 import com.phonepe.leaderboard.data.model.Leaderboard;
-import com.phonepe.leaderboard.data.model.LeaderboardEntry;
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.data.request.PlayerScore;
+import com.phonepe.leaderboard.data.response.BulkScoreSubmissionResponse;
 import com.phonepe.leaderboard.data.response.CreateLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.GetLeaderboardResponse;
 import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardStandingResponse;
+import com.phonepe.leaderboard.data.response.NeighborhoodResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.data.response.PlayerStandingsResponse;
 import com.phonepe.leaderboard.data.response.ScoreSubmissionResponse;
+import com.phonepe.leaderboard.eventlog.ScoreEventLog;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import com.phonepe.leaderboard.ranking.TopKRankIndex;
+import com.phonepe.leaderboard.repository.LeaderboardArchiveRepository;
+import com.phonepe.leaderboard.repository.LeaderboardEntryBatchRepository;
+import com.phonepe.leaderboard.repository.LeaderboardEntryCursorRepository;
 import com.phonepe.leaderboard.repository.LeaderboardEntryRepository;
 import com.phonepe.leaderboard.repository.LeaderboardRepository;
+import com.phonepe.leaderboard.service.ingestion.ScoreIngestionPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+import static com.phonepe.leaderboard.util.LeaderboardUtil.encodeCursor;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -38,9 +66,50 @@ class LeaderboardServiceTest {
     @Mock
     private LeaderboardEntryRepository leaderboardEntryRepository;
 
-    @InjectMocks
+    @Mock
+    private LeaderboardEntryBatchRepository leaderboardEntryBatchRepository;
+
+    @Mock
+    private LeaderboardEntryCursorRepository leaderboardEntryCursorRepository;
+
+    @Mock
+    private RankIndexRegistry rankIndexRegistry;
+
+    @Mock
+    private ScoreIngestionPipeline scoreIngestionPipeline;
+
+    @Mock
+    private ScoreEventLog scoreEventLog;
+
+    @Mock
+    private LeaderboardArchiveRepository leaderboardArchiveRepository;
+
+    @Mock
+    private FrozenStandingsCache frozenStandingsCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private LeaderboardServiceImpl leaderboardService;
 
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        leaderboardService = new LeaderboardServiceImpl(
+                leaderboardRepository,
+                new ActiveLeaderboardCache(leaderboardRepository),
+                leaderboardEntryRepository,
+                leaderboardEntryBatchRepository,
+                leaderboardEntryCursorRepository,
+                rankIndexRegistry,
+                scoreIngestionPipeline,
+                TransactionOperations.withoutTransaction(),
+                new LeaderboardMetrics(meterRegistry),
+                scoreEventLog,
+                leaderboardArchiveRepository,
+                frozenStandingsCache
+        );
+    }
+
     @Test
     void testCreateLeaderboard_nullGameId() {
         try {
@@ -86,6 +155,7 @@ class LeaderboardServiceTest {
 
         assertNotNull(response.getLeaderboardId());
         assertEquals(saved.getId(), response.getLeaderboardId());
+        verify(rankIndexRegistry).registerAfterCommit("id1", "g1");
     }
 
     @Test
@@ -120,10 +190,10 @@ class LeaderboardServiceTest {
     @Test
     void testGetLeaderboard_leaderboardPresent() {
         Leaderboard leaderboard = new Leaderboard("id1", "g1", 123, 123);
-        List<LeaderboardEntry> leaderboardEntries = List.of(
-                new LeaderboardEntry("lbe1", leaderboard, "p1", 100, 0L),
-                new LeaderboardEntry("lbe2", leaderboard, "p2", 90, 0L),
-                new LeaderboardEntry("lbe3", leaderboard,"p3", 80, 0L)
+        List<RankedEntry> leaderboardEntries = List.of(
+                new RankedEntry("p1", 100),
+                new RankedEntry("p2", 90),
+                new RankedEntry("p3", 80)
         );
 
         when(leaderboardRepository.findById(any())).thenReturn(Optional.of(leaderboard));
@@ -226,7 +296,7 @@ class LeaderboardServiceTest {
         String playerId = "p1";
         int score = 100;
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of());
 
         try {
@@ -237,6 +307,7 @@ class LeaderboardServiceTest {
     }
 
     @Test
+    @SuppressWarnings("unchecked")
     void testSubmitScore_concurrentScoreUpdates_shouldKeepHighestScore() throws Exception {
         String leaderboardId = "lb1";
         String gameId = "g1";
@@ -246,11 +317,11 @@ class LeaderboardServiceTest {
 
         Leaderboard leaderboard = new Leaderboard(leaderboardId, gameId, todayTime, tomorrowTime);
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of(leaderboard));
 
-        when(leaderboardEntryRepository.updateIfHigherScore(any(), any(), anyInt()))
-                .thenReturn(1);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any()))
+                .thenReturn(new int[]{1});
 
         int threadCount = 50;
         ExecutorService executor = Executors.newFixedThreadPool(threadCount);
@@ -270,14 +341,16 @@ class LeaderboardServiceTest {
         assertTrue(latch.await(10, TimeUnit.SECONDS));
         executor.shutdown();
 
-        ArgumentCaptor<Integer> scoreCaptor = ArgumentCaptor.forClass(Integer.class);
+        ArgumentCaptor<List<ScoreUpdate>> updatesCaptor = ArgumentCaptor.forClass(List.class);
 
-        verify(leaderboardEntryRepository, atLeastOnce())
-                .updateIfHigherScore(eq(leaderboardId), eq(playerId), scoreCaptor.capture());
+        verify(leaderboardEntryBatchRepository, atLeastOnce())
+                .upsertIfHigher(updatesCaptor.capture());
 
-        int maxScorePassed = scoreCaptor.getAllValues()
+        int maxScorePassed = updatesCaptor.getAllValues()
                 .stream()
-                .mapToInt(Integer::intValue)
+                .flatMap(List::stream)
+                .filter(update -> update.leaderboardId().equals(leaderboardId) && update.playerId().equals(playerId))
+                .mapToInt(ScoreUpdate::score)
                 .max()
                 .orElseThrow();
 
@@ -297,7 +370,7 @@ class LeaderboardServiceTest {
         Leaderboard inactiveLeaderboard =
                 new Leaderboard(leaderboardId, gameId, now - 2_000, yesterday);
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of(inactiveLeaderboard));
 
         ScoreSubmissionResponse response =
@@ -307,6 +380,7 @@ class LeaderboardServiceTest {
         assertFalse(response.isDataUpdated());
 
         verifyNoInteractions(leaderboardEntryRepository);
+        verifyNoInteractions(leaderboardEntryBatchRepository);
     }
 
     @Test
@@ -322,11 +396,11 @@ class LeaderboardServiceTest {
         Leaderboard inactiveLeaderboard =
                 new Leaderboard("lb-inactive", gameId, now - 60_000, now - 1_000);
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of(activeLeaderboard, inactiveLeaderboard));
 
-        when(leaderboardEntryRepository.updateIfHigherScore(eq("lb-active"), eq(playerId), eq(score)))
-                .thenReturn(1);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(List.of(new ScoreUpdate("lb-active", playerId, score))))
+                .thenReturn(new int[]{1});
 
         ScoreSubmissionResponse response =
                 leaderboardService.submitScore(gameId, playerId, score);
@@ -334,11 +408,8 @@ class LeaderboardServiceTest {
         assertEquals(1, response.getUpdatedLeaderboardCount());
         assertTrue(response.isDataUpdated());
 
-        verify(leaderboardEntryRepository, times(1))
-                .updateIfHigherScore("lb-active", playerId, score);
-
-        verify(leaderboardEntryRepository, never())
-                .updateIfHigherScore(eq("lb-inactive"), any(), anyInt());
+        verify(leaderboardEntryBatchRepository, times(1))
+                .upsertIfHigher(List.of(new ScoreUpdate("lb-active", playerId, score)));
     }
 
     @Test
@@ -346,22 +417,18 @@ class LeaderboardServiceTest {
         String leaderboardId = "lb1";
         String gameId = "g1";
         String playerId = "p1";
-        int existingScore = 300;
         int lowerScore = 200;
         long now = System.currentTimeMillis();
 
         Leaderboard leaderboard =
                 new Leaderboard(leaderboardId, gameId, now - 1_000, now + 60_000);
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of(leaderboard));
 
-        // update returns 0 → means newScore <= existingScore
-        when(leaderboardEntryRepository.updateIfHigherScore(leaderboardId, playerId, lowerScore))
-                .thenReturn(0);
-
-        when(leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(leaderboardId, playerId))
-                .thenReturn(Optional.of(new LeaderboardEntry("lbe1", leaderboard, playerId, existingScore, 0L)));
+        // upsert touches 0 rows → means newScore <= existingScore
+        when(leaderboardEntryBatchRepository.upsertIfHigher(List.of(new ScoreUpdate(leaderboardId, playerId, lowerScore))))
+                .thenReturn(new int[]{0});
 
         ScoreSubmissionResponse response =
                 leaderboardService.submitScore(gameId, playerId, lowerScore);
@@ -369,10 +436,8 @@ class LeaderboardServiceTest {
         assertEquals(0, response.getUpdatedLeaderboardCount());
         assertFalse(response.isDataUpdated());
 
-        verify(leaderboardEntryRepository, times(1))
-                .updateIfHigherScore(leaderboardId, playerId, lowerScore);
-
-        verify(leaderboardEntryRepository, never()).save(any());
+        verify(rankIndexRegistry, never()).offerAfterCommit(any(), any(), anyInt());
+        verifyNoInteractions(leaderboardEntryRepository);
     }
 
     @Test
@@ -385,29 +450,18 @@ class LeaderboardServiceTest {
 
         Leaderboard activeLeaderboard = new Leaderboard(leaderboardId, gameId, now, now + 60_000);
 
-        when(leaderboardRepository.findByGameId(gameId))
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
                 .thenReturn(List.of(activeLeaderboard));
 
-        when(leaderboardEntryRepository.updateIfHigherScore(eq(leaderboardId), eq(playerId), eq(newScore)))
-                .thenReturn(0);
-
-        when(leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(eq(leaderboardId), eq(playerId)))
-                .thenReturn(Optional.empty());
-
-        ArgumentCaptor<LeaderboardEntry> captor = ArgumentCaptor.forClass(LeaderboardEntry.class);
-        when(leaderboardEntryRepository.save(captor.capture()))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        // upsert inserts the missing entry in the same statement
+        when(leaderboardEntryBatchRepository.upsertIfHigher(List.of(new ScoreUpdate(leaderboardId, playerId, newScore))))
+                .thenReturn(new int[]{1});
 
         ScoreSubmissionResponse response =
                 leaderboardService.submitScore(gameId, playerId, newScore);
 
-        verify(leaderboardEntryRepository, times(1)).save(any());
-
-        LeaderboardEntry inserted = captor.getValue();
-        assertEquals(playerId, inserted.getPlayerId());
-        assertEquals(newScore, inserted.getScore());
-        assertEquals(activeLeaderboard, inserted.getLeaderboard());
-        assertEquals(1, inserted.getVersion()); // version starts at 1
+        verify(leaderboardEntryBatchRepository, times(1)).upsertIfHigher(any());
+        verifyNoInteractions(leaderboardEntryRepository);
 
         assertEquals(1, response.getUpdatedLeaderboardCount());
         assertTrue(response.isDataUpdated());
@@ -453,16 +507,11 @@ class LeaderboardServiceTest {
     void testGetTopNPlayers_shouldReturnTopNPlayers() {
         String leaderboardId = "lb1";
         int nPlayers = 3;
-        String gameId = "g1";
-        long now = System.currentTimeMillis();
-
-        Leaderboard leaderboard =
-                new Leaderboard(leaderboardId, gameId, now, now + 60_000);
 
-        List<LeaderboardEntry> topEntries = List.of(
-                new LeaderboardEntry("lbe1", leaderboard, "p1", 100, 0L),
-                new LeaderboardEntry("lbe2", leaderboard, "p2", 90, 0L),
-                new LeaderboardEntry("lbe3", leaderboard,"p3", 80, 0L)
+        List<RankedEntry> topEntries = List.of(
+                new RankedEntry("p1", 100),
+                new RankedEntry("p2", 90),
+                new RankedEntry("p3", 80)
         );
 
         when(leaderboardEntryRepository.findTopNPlayers(
@@ -513,17 +562,12 @@ class LeaderboardServiceTest {
         String leaderboardId = "lb1";
         String playerId = "p3";
         int nPlayers = 2;
-        String gameId = "g1";
-        long now = System.currentTimeMillis();
 
-        Leaderboard leaderboard =
-                new Leaderboard(leaderboardId, gameId, now, now + 60_000);
+        RankedEntry playerEntry = new RankedEntry("p3", 80);
 
-        LeaderboardEntry playerEntry = new LeaderboardEntry("lbe3", leaderboard, "p3", 80, 0L);
-
-        List<LeaderboardEntry> nextEntries = List.of(
-                new LeaderboardEntry("lbe4", leaderboard, "p4", 70, 0L),
-                new LeaderboardEntry("lbe5", leaderboard, "p5", 60, 0L)
+        List<RankedEntry> nextEntries = List.of(
+                new RankedEntry("p4", 70),
+                new RankedEntry("p5", 60)
         );
 
         when(leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(
@@ -594,19 +638,14 @@ class LeaderboardServiceTest {
         String leaderboardId = "lb1";
         String playerId = "p4";
         int nPlayers = 3;
-        String gameId = "g1";
-        long now = System.currentTimeMillis();
-
-        Leaderboard leaderboard =
-                new Leaderboard(leaderboardId, gameId, now, now + 60_000);
 
-        LeaderboardEntry playerEntry = new LeaderboardEntry("lbe4", leaderboard, "p4", 70, 0L);
+        RankedEntry playerEntry = new RankedEntry("p4", 70);
 
         // Repo returns ASC order by score (as per your query)
-        List<LeaderboardEntry> prevEntriesFromRepo = new ArrayList<>(List.of(
-                new LeaderboardEntry("lbe3", leaderboard, "p3", 80, 0L),
-                new LeaderboardEntry("lbe2", leaderboard, "p2", 90, 0L),
-                new LeaderboardEntry("lbe1", leaderboard, "p1", 100, 0L)
+        List<RankedEntry> prevEntriesFromRepo = new ArrayList<>(List.of(
+                new RankedEntry("p3", 80),
+                new RankedEntry("p2", 90),
+                new RankedEntry("p1", 100)
         ));
 
         when(leaderboardEntryRepository.findByLeaderboardIdAndPlayerId(
@@ -635,7 +674,6 @@ class LeaderboardServiceTest {
                 .findPrevNPlayers(eq(leaderboardId), eq(70), eq("p4"), any(Pageable.class));
     }
 
-
     @Test
     void testGetNextNPlayers_shouldThrowIfPlayerNotFound() {
         when(leaderboardEntryRepository.findByLeaderboardIdAndPlayerId("lb1", "p404"))
@@ -645,5 +683,643 @@ class LeaderboardServiceTest {
                 () -> leaderboardService.getNextNPlayers("lb1", "p404", 5));
     }
 
+    @Test
+    void testGetTopNPlayersJson_shouldServeSnapshotWithoutRepository() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 10);
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 80);
+
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+
+        byte[] json = leaderboardService.getTopNPlayersJson("lb1", 2);
+
+        assertEquals("[{\"playerId\":\"p1\",\"score\":100},{\"playerId\":\"p2\",\"score\":90}]",
+                new String(json, StandardCharsets.UTF_8));
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetTopNPlayersJson_shouldEncodeRepositoryEntriesWithoutRankIndex() {
+        when(leaderboardEntryRepository.findTopNPlayers(eq("lb1"), any(Pageable.class)))
+                .thenReturn(List.of(new RankedEntry("p1", 100)));
+
+        byte[] json = leaderboardService.getTopNPlayersJson("lb1", 5);
+
+        assertEquals("[{\"playerId\":\"p1\",\"score\":100}]", new String(json, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testGetTopNPlayers_shouldServeFromRankIndexWhenPresent() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 90);
+        rankIndex.offer("p4", 80);
+
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        List<LeaderboardEntryResponse> result = leaderboardService.getTopNPlayers("lb1", 3);
+
+        assertEquals(3, result.size());
+        assertEquals("p1", result.get(0).getPlayerId());
+        assertEquals("p2", result.get(1).getPlayerId());
+        assertEquals("p3", result.get(2).getPlayerId());
+
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetNextAndPrevNPlayers_shouldServeFromRankIndexWhenPresent() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 80);
+        rankIndex.offer("p4", 70);
+        rankIndex.offer("p5", 60);
+
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        List<LeaderboardEntryResponse> next = leaderboardService.getNextNPlayers("lb1", "p3", 5);
+        List<LeaderboardEntryResponse> prev = leaderboardService.getPrevNPlayers("lb1", "p3", 1);
+
+        assertEquals(2, next.size());
+        assertEquals("p4", next.get(0).getPlayerId());
+        assertEquals("p5", next.get(1).getPlayerId());
+        assertEquals(1, prev.size());
+        assertEquals("p2", prev.get(0).getPlayerId());
+
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetNextNPlayers_shouldThrowIfPlayerNotInRankIndex() {
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(new SkipListRankIndex()));
+
+        assertThrows(RuntimeException.class,
+                () -> leaderboardService.getNextNPlayers("lb1", "p404", 5));
+    }
+
+    @Test
+    void testSubmitScore_shouldUpdateRankIndexForUpdatedLeaderboards() {
+        String gameId = "g1";
+        String playerId = "p1";
+        int score = 200;
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
+                .thenReturn(List.of(leaderboard));
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any()))
+                .thenReturn(new int[]{1});
+
+        leaderboardService.submitScore(gameId, playerId, score);
+
+        verify(rankIndexRegistry, times(1)).offerAfterCommit("lb1", playerId, score);
+    }
+
+    @Test
+    void testGetPlayerRank_invalidPlayerId() {
+        try {
+            leaderboardService.getPlayerRank("lb1", "");
+        } catch (RuntimeException rte) {
+            assertEquals("PlayerId is invalid.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testGetPlayerRank_noLeaderboardPresent() {
+        try {
+            leaderboardService.getPlayerRank("lb1", "p1");
+        } catch (RuntimeException rte) {
+            assertEquals("No leaderboard found for given id.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testGetPlayerRank_shouldReturnOneBasedRank() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 90);
+        rankIndex.offer("p3", 90);
+
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        PlayerRankResponse response = leaderboardService.getPlayerRank("lb1", "p3");
+
+        assertEquals("p3", response.getPlayerId());
+        assertEquals(90, response.getScore());
+        assertEquals(3, response.getRank());
+
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testSubmitScore_writeBehind_shouldQueueOnlyHigherScores() {
+        String gameId = "g1";
+        String playerId = "p1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer(playerId, 300);
+
+        when(scoreIngestionPipeline.isEnabled()).thenReturn(true);
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(leaderboard));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+        when(scoreIngestionPipeline.enqueue("lb1", playerId, 400)).thenReturn(CompletableFuture.completedFuture(true));
+
+        ScoreSubmissionResponse lower = leaderboardService.submitScore(gameId, playerId, 200);
+        ScoreSubmissionResponse higher = leaderboardService.submitScore(gameId, playerId, 400);
+
+        assertFalse(lower.isDataUpdated());
+        assertEquals(1, higher.getUpdatedLeaderboardCount());
+        assertEquals(400, rankIndex.score(playerId).getAsInt());
+
+        verify(scoreIngestionPipeline, never()).enqueue("lb1", playerId, 200);
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testSubmitScore_writeBehindQueueFull_shouldLeaveIndexAndEventLogUntouched() {
+        String gameId = "g1";
+        String playerId = "p1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer(playerId, 300);
+
+        when(scoreIngestionPipeline.isEnabled()).thenReturn(true);
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(leaderboard));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+        when(scoreIngestionPipeline.enqueue("lb1", playerId, 400))
+                .thenThrow(new RuntimeException("Score ingestion queue is full."));
+
+        RuntimeException rte = assertThrows(RuntimeException.class,
+                () -> leaderboardService.submitScore(gameId, playerId, 400));
+
+        assertEquals("Score ingestion queue is full.", rte.getMessage());
+
+        assertEquals(300, rankIndex.score(playerId).getAsInt());
+        verifyNoInteractions(scoreEventLog);
+    }
+
+    @Test
+    void testSubmitScore_writeBehindAckOnFlush_shouldApplyScoreOnceFlushed() {
+        String gameId = "g1";
+        String playerId = "p1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer(playerId, 300);
+        CompletableFuture<Boolean> flushed = new CompletableFuture<>();
+
+        when(scoreIngestionPipeline.isEnabled()).thenReturn(true);
+        when(scoreIngestionPipeline.acknowledgesOnFlush()).thenReturn(true);
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(leaderboard));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+        when(scoreIngestionPipeline.enqueue("lb1", playerId, 400)).thenReturn(flushed);
+
+        leaderboardService.submitScore(gameId, playerId, 400);
+
+        assertEquals(300, rankIndex.score(playerId).getAsInt());
+        verifyNoInteractions(scoreEventLog);
+
+        flushed.complete(true);
+
+        assertEquals(400, rankIndex.score(playerId).getAsInt());
+        verify(scoreEventLog, times(1)).append("lb1", playerId, 400, true);
+    }
+
+    @Test
+    void testSubmitScore_writeBehindAckOnFlushMergedAway_shouldReportNotUpdated() {
+        String gameId = "g1";
+        String playerId = "p1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer(playerId, 300);
+
+        when(scoreIngestionPipeline.isEnabled()).thenReturn(true);
+        when(scoreIngestionPipeline.acknowledgesOnFlush()).thenReturn(true);
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(leaderboard));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+        // a higher score for the same player was queued first
+        when(scoreIngestionPipeline.enqueue("lb1", playerId, 400)).thenReturn(CompletableFuture.completedFuture(false));
+
+        ScoreSubmissionResponse response = leaderboardService.submitScore(gameId, playerId, 400);
+
+        assertFalse(response.isDataUpdated());
+        assertEquals(0, response.getUpdatedLeaderboardCount());
+        assertEquals(300, rankIndex.score(playerId).getAsInt());
+        verify(scoreEventLog, times(1)).append("lb1", playerId, 400, false);
+        assertEquals(0, meterRegistry.get(LeaderboardMetrics.SCORES_COUNTER).tag("outcome", "accepted").counter().count());
+        assertEquals(1, meterRegistry.get(LeaderboardMetrics.SCORES_COUNTER).tag("outcome", "ignored").counter().count());
+    }
+
+    @Test
+    void testSubmitScore_writeBehindFlushFailed_shouldReloadPlayerFromDatabase() {
+        String gameId = "g1";
+        String playerId = "p1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        RankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer(playerId, 300);
+        CompletableFuture<Boolean> flushed = new CompletableFuture<>();
+
+        when(scoreIngestionPipeline.isEnabled()).thenReturn(true);
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(leaderboard));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+        when(scoreIngestionPipeline.enqueue("lb1", playerId, 400)).thenReturn(flushed);
+
+        ScoreSubmissionResponse response = leaderboardService.submitScore(gameId, playerId, 400);
+
+        assertTrue(response.isDataUpdated());
+        assertEquals(400, rankIndex.score(playerId).getAsInt());
+
+        flushed.completeExceptionally(new RuntimeException("Score could not be persisted."));
+
+        verify(rankIndexRegistry, times(1)).reloadPlayer("lb1", playerId);
+        verify(scoreEventLog, never()).append("lb1", playerId, 400, true);
+    }
+
+    @Test
+    void testSubmitScores_emptySubmissions() {
+        try {
+            leaderboardService.submitScores("g1", List.of());
+        } catch (RuntimeException rte) {
+            assertEquals("Score submissions are invalid.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testSubmitScores_invalidPlayerScore() {
+        try {
+            leaderboardService.submitScores("g1", List.of(new PlayerScore("p1", 10), new PlayerScore("p2", -1)));
+        } catch (RuntimeException rte) {
+            assertEquals("Game score is invalid.", rte.getMessage());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSubmitScores_shouldBatchActiveLeaderboardsAndReportPerPlayer() {
+        String gameId = "g1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard active = new Leaderboard("lb-active", gameId, now - 1_000, now + 60_000);
+        Leaderboard inactive = new Leaderboard("lb-inactive", gameId, now - 60_000, now - 1_000);
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(active, inactive));
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any())).thenReturn(new int[]{1, 0});
+
+        BulkScoreSubmissionResponse response = leaderboardService.submitScores(gameId, List.of(
+                new PlayerScore("p1", 100),
+                new PlayerScore("p2", 50),
+                new PlayerScore("p1", 150)
+        ));
+
+        ArgumentCaptor<List<ScoreUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(leaderboardEntryBatchRepository, times(1)).upsertIfHigher(captor.capture());
+        assertEquals(List.of(
+                new ScoreUpdate("lb-active", "p1", 150),
+                new ScoreUpdate("lb-active", "p2", 50)
+        ), captor.getValue());
+
+        assertEquals(2, response.getResults().size());
+        assertEquals("p1", response.getResults().get(0).getPlayerId());
+        assertEquals(1, response.getResults().get(0).getUpdatedLeaderboardCount());
+        assertTrue(response.getResults().get(0).isDataUpdated());
+        assertEquals("p2", response.getResults().get(1).getPlayerId());
+        assertFalse(response.getResults().get(1).isDataUpdated());
+
+        verify(rankIndexRegistry, times(1)).offerAfterCommit("lb-active", "p1", 150);
+    }
+
+    @Test
+    void testSubmitScore_shouldIgnoreNotYetStartedLeaderboards() {
+        String gameId = "g1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard upcomingLeaderboard = new Leaderboard("lb-upcoming", gameId, now + 60_000, now + 120_000);
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
+                .thenReturn(List.of(upcomingLeaderboard));
+
+        ScoreSubmissionResponse response = leaderboardService.submitScore(gameId, "p1", 100);
+
+        assertEquals(0, response.getUpdatedLeaderboardCount());
+        assertFalse(response.isDataUpdated());
+
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testSubmitScore_shouldResolveLeaderboardsOncePerGame() {
+        String gameId = "g1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard leaderboard = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
+                .thenReturn(List.of(leaderboard));
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any()))
+                .thenReturn(new int[]{1});
+
+        leaderboardService.submitScore(gameId, "p1", 100);
+        leaderboardService.submitScore(gameId, "p2", 200);
+
+        verify(leaderboardRepository, times(1)).findUnsealedByGameId(gameId);
+    }
+
+    @Test
+    void testSubmitScore_shouldRecordAcceptedAndIgnoredScores() {
+        String gameId = "g1";
+        long now = System.currentTimeMillis();
+
+        Leaderboard first = new Leaderboard("lb1", gameId, now - 1_000, now + 60_000);
+        Leaderboard second = new Leaderboard("lb2", gameId, now - 1_000, now + 60_000);
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId))
+                .thenReturn(List.of(first, second));
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any()))
+                .thenReturn(new int[]{1, 0});
+
+        leaderboardService.submitScore(gameId, "p1", 100);
+
+        assertEquals(1, meterRegistry.get(LeaderboardMetrics.SCORES_COUNTER).tag("outcome", "accepted").counter().count());
+        assertEquals(1, meterRegistry.get(LeaderboardMetrics.SCORES_COUNTER).tag("outcome", "ignored").counter().count());
+        assertEquals(1, meterRegistry.get(LeaderboardMetrics.SERVICE_TIMER)
+                .tag("operation", "submitScore").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testSubmitScore_shouldLogAcceptedAndIgnoredEvents() {
+        String gameId = "g1";
+        long now = System.currentTimeMillis();
+
+        when(leaderboardRepository.findUnsealedByGameId(gameId)).thenReturn(List.of(
+                new Leaderboard("lb1", gameId, now - 1_000, now + 60_000),
+                new Leaderboard("lb2", gameId, now - 1_000, now + 60_000)
+        ));
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any()))
+                .thenReturn(new int[]{1, 0});
+
+        leaderboardService.submitScore(gameId, "p1", 100);
+
+        verify(scoreEventLog).appendAfterCommit("lb1", "p1", 100, true);
+        verify(scoreEventLog).appendAfterCommit("lb2", "p1", 100, false);
+    }
+
+    @Test
+    void testSubmitScore_shouldTimeFailedOperations() {
+        assertThrows(RuntimeException.class, () -> leaderboardService.submitScore("g1", "", 100));
+
+        assertEquals(1, meterRegistry.get(LeaderboardMetrics.SERVICE_TIMER)
+                .tag("operation", "submitScore").tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    void testExportLeaderboard_noLeaderboardPresent() {
+        when(leaderboardRepository.existsById("lb1")).thenReturn(false);
+
+        try {
+            leaderboardService.exportLeaderboard("lb1");
+        } catch (RuntimeException rte) {
+            assertEquals("No leaderboard found for given id.", rte.getMessage());
+        }
+        verifyNoInteractions(leaderboardEntryCursorRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportLeaderboard_shouldStreamNewlineDelimitedJson() throws Exception {
+        when(leaderboardRepository.existsById("lb1")).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<RankedEntry> consumer = invocation.getArgument(1);
+            consumer.accept(new RankedEntry("p1", 100));
+            consumer.accept(new RankedEntry("p2", 90));
+            return null;
+        }).when(leaderboardEntryCursorRepository).streamRankedEntries(eq("lb1"), any(Consumer.class));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        leaderboardService.exportLeaderboard("lb1").writeTo(outputStream);
+
+        assertEquals(
+                "{\"playerId\":\"p1\",\"score\":100}\n{\"playerId\":\"p2\",\"score\":90}\n",
+                outputStream.toString(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void testGetLeaderboardPage_invalidLimit() {
+        try {
+            leaderboardService.getLeaderboardPage("lb1", 0, null);
+        } catch (RuntimeException rte) {
+            assertEquals("Page limit is invalid.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testGetLeaderboardPage_invalidCursor() {
+        try {
+            leaderboardService.getLeaderboardPage("lb1", 10, "not a cursor");
+        } catch (RuntimeException rte) {
+            assertEquals("Cursor is invalid.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testGetLeaderboardPage_shouldWalkAllPagesWithCursor() {
+        RankIndex rankIndex = new SkipListRankIndex();
+        for (int i = 1; i <= 5; i++) {
+            rankIndex.offer("p" + i, 100 - i);
+        }
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        LeaderboardPageResponse first = leaderboardService.getLeaderboardPage("lb1", 2, null);
+        LeaderboardPageResponse second = leaderboardService.getLeaderboardPage("lb1", 2, first.getNextCursor());
+        LeaderboardPageResponse last = leaderboardService.getLeaderboardPage("lb1", 2, second.getNextCursor());
+
+        assertEquals(List.of("p1", "p2"), first.getScores().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p3", "p4"), second.getScores().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p5"), last.getScores().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void testGetLeaderboardPage_shouldSeekInRepositoryWithoutRankIndex() {
+        when(leaderboardEntryRepository.findNextNPlayers(eq("lb1"), eq(80), eq("p3"), any(Pageable.class)))
+                .thenReturn(List.of(new RankedEntry("p4", 70)));
+
+        LeaderboardPageResponse page = leaderboardService.getLeaderboardPage("lb1", 1, encodeCursor("p3", 80));
+
+        assertEquals(1, page.getScores().size());
+        assertEquals("p4", page.getScores().get(0).getPlayerId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetTopNPlayers_shouldReadSealedLeaderboardFromArchive() {
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.findByRankRange("lb1", 1, 2))
+                .thenReturn(List.of(new RankedEntry("p1", 90), new RankedEntry("p2", 80)));
+
+        List<LeaderboardEntryResponse> top = leaderboardService.getTopNPlayers("lb1", 2);
+
+        assertEquals(List.of("p1", "p2"), top.stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetNextAndPrevNPlayers_shouldReadSealedLeaderboardByRank() {
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.findByPlayer("lb1", "p5"))
+                .thenReturn(Optional.of(new LeaderboardArchiveRepository.ArchivedEntry(5, "p5", 50)));
+        when(leaderboardArchiveRepository.findByRankRange("lb1", 6, 7))
+                .thenReturn(List.of(new RankedEntry("p6", 40), new RankedEntry("p7", 30)));
+        when(leaderboardArchiveRepository.findByRankRange("lb1", 3, 4))
+                .thenReturn(List.of(new RankedEntry("p3", 70), new RankedEntry("p4", 60)));
+
+        assertEquals(List.of("p6", "p7"), leaderboardService.getNextNPlayers("lb1", "p5", 2).stream()
+                .map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p3", "p4"), leaderboardService.getPrevNPlayers("lb1", "p5", 2).stream()
+                .map(LeaderboardEntryResponse::getPlayerId).toList());
+    }
+
+    @Test
+    void testGetPlayerRank_shouldReadSealedLeaderboardFromArchive() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.findByPlayer("lb1", "p5"))
+                .thenReturn(Optional.of(new LeaderboardArchiveRepository.ArchivedEntry(5, "p5", 50)));
+
+        PlayerRankResponse response = leaderboardService.getPlayerRank("lb1", "p5");
+
+        assertEquals(5, response.getRank());
+        assertEquals(50, response.getScore());
+        verify(rankIndexRegistry, never()).find("lb1");
+    }
+
+    @Test
+    void testGetSealedLeaderboard_shouldServeFrozenStandingsWithoutArchiveReads() {
+        FrozenStandings frozen = FrozenStandings.of(List.of(
+                new RankedEntry("p1", 90), new RankedEntry("p2", 80), new RankedEntry("p3", 70)
+        ));
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(frozenStandingsCache.find("lb1")).thenReturn(Optional.of(frozen));
+
+        assertEquals(
+                "{\"scores\":[{\"playerId\":\"p1\",\"score\":90},{\"playerId\":\"p2\",\"score\":80},"
+                        + "{\"playerId\":\"p3\",\"score\":70}]}",
+                new String(leaderboardService.getLeaderboardJson("lb1"), StandardCharsets.UTF_8)
+        );
+        assertEquals(List.of("p3"), leaderboardService.getNextNPlayers("lb1", "p2", 5).stream()
+                .map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(2, leaderboardService.getPlayerRank("lb1", "p2").getRank());
+        assertEquals(Optional.of("\"sealed-lb1\""), leaderboardService.getFrozenStandingsETag("lb1"));
+        verifyNoInteractions(leaderboardArchiveRepository, leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetFrozenStandingsETag_shouldBeEmptyWhileLeaderboardCanChange() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+
+        assertTrue(leaderboardService.getFrozenStandingsETag("lb1").isEmpty());
+    }
+
+    @Test
+    void testGetNeighborhood_invalidN() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> leaderboardService.getNeighborhood("lb1", "p1", -1, 2, 0));
+
+        assertEquals("N count is invalid.", e.getMessage());
+        verifyNoInteractions(rankIndexRegistry);
+    }
+
+    @Test
+    void testGetNeighborhood_shouldServeRankNeighboursAndTopFromRankIndex() {
+        RankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 10);
+        for (int i = 1; i <= 6; i++) {
+            rankIndex.offer("p" + i, i * 10);
+        }
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        NeighborhoodResponse response = leaderboardService.getNeighborhood("lb1", "p3", 2, 1, 1);
+
+        assertEquals(PlayerRankResponse.builder().playerId("p3").score(30).rank(4).build(), response.getPlayer());
+        assertEquals(List.of("p5", "p4"), response.getAbove().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p2"), response.getBelow().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p6"), response.getTop().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertNull(leaderboardService.getNeighborhood("lb1", "p3", 2, 1, 0).getTop());
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetNeighborhood_shouldReadSealedLeaderboardInOneRankRange() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardArchiveRepository.findByPlayer("lb1", "p2"))
+                .thenReturn(Optional.of(new LeaderboardArchiveRepository.ArchivedEntry(2, "p2", 80)));
+        when(leaderboardArchiveRepository.findByRankRange("lb1", 1, 4)).thenReturn(List.of(
+                new RankedEntry("p1", 90), new RankedEntry("p2", 80), new RankedEntry("p3", 70), new RankedEntry("p4", 60)
+        ));
+
+        NeighborhoodResponse response = leaderboardService.getNeighborhood("lb1", "p2", 3, 2, 0);
+
+        assertEquals(2, response.getPlayer().getRank());
+        assertEquals(List.of("p1"), response.getAbove().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertEquals(List.of("p3", "p4"), response.getBelow().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        verify(leaderboardArchiveRepository, times(1)).findByRankRange(any(), anyInt(), anyInt());
+        verify(rankIndexRegistry, never()).find("lb1");
+    }
+
+    @Test
+    void testGetPlayerStandings_invalidGameId() {
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> leaderboardService.getPlayerStandings("", "p1", 1, 1));
+
+        assertEquals("GameId is invalid.", e.getMessage());
+        verifyNoInteractions(leaderboardRepository);
+    }
+
+    @Test
+    void testGetPlayerStandings_shouldReadEveryActiveLeaderboardOfGame() {
+        long now = System.currentTimeMillis();
+        Leaderboard daily = new Leaderboard("daily", "g1", now - 1_000, now + 60_000);
+        Leaderboard weekly = new Leaderboard("weekly", "g1", now - 1_000, now + 600_000);
+        Leaderboard season = new Leaderboard("season", "g1", now - 1_000, now + 6_000_000);
+        RankIndex dailyIndex = new SkipListRankIndex();
+        dailyIndex.offer("p1", 50);
+        dailyIndex.offer("p2", 40);
+        RankIndex weeklyIndex = new SkipListRankIndex();
+        weeklyIndex.offer("p3", 90);
+        weeklyIndex.offer("p1", 80);
+        when(leaderboardRepository.findUnsealedByGameId("g1")).thenReturn(List.of(daily, weekly, season));
+        when(rankIndexRegistry.find("daily")).thenReturn(Optional.of(dailyIndex));
+        when(rankIndexRegistry.find("weekly")).thenReturn(Optional.of(weeklyIndex));
+        when(rankIndexRegistry.find("season")).thenReturn(Optional.of(new SkipListRankIndex()));
+
+        PlayerStandingsResponse response = leaderboardService.getPlayerStandings("g1", "p1", 1, 1);
+
+        assertEquals(List.of("daily", "weekly", "season"), response.getStandings().stream()
+                .map(LeaderboardStandingResponse::getLeaderboardId).toList());
+        NeighborhoodResponse dailyStanding = response.getStandings().get(0).getNeighborhood();
+        assertEquals(PlayerRankResponse.builder().playerId("p1").score(50).rank(1).build(), dailyStanding.getPlayer());
+        assertTrue(dailyStanding.getAbove().isEmpty());
+        assertEquals(List.of("p2"), dailyStanding.getBelow().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        NeighborhoodResponse weeklyStanding = response.getStandings().get(1).getNeighborhood();
+        assertEquals(2, weeklyStanding.getPlayer().getRank());
+        assertEquals(List.of("p3"), weeklyStanding.getAbove().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertNull(weeklyStanding.getTop());
+        assertNull(response.getStandings().get(2).getNeighborhood());
+        verifyNoInteractions(leaderboardEntryRepository);
+    }
 
 }
@@ -0,0 +1,156 @@
+package com.phonepe.leaderboard.service;
+
+import com.phonepe.leaderboard.data.response.LeaderboardEntryResponse;
+import com.phonepe.leaderboard.data.response.LeaderboardPageResponse;
+import com.phonepe.leaderboard.data.response.PlayerRankResponse;
+import com.phonepe.leaderboard.metrics.LeaderboardMetrics;
+import com.phonepe.leaderboard.ranking.RankIndexRegistry;
+import com.phonepe.leaderboard.ranking.RankedEntry;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import com.phonepe.leaderboard.ranking.TopKRankIndex;
+import com.phonepe.leaderboard.repository.ReactiveLeaderboardEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveLeaderboardServiceTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private RankIndexRegistry rankIndexRegistry;
+
+    @Mock
+    private ReactiveLeaderboardEntryRepository reactiveLeaderboardEntryRepository;
+
+    private ReactiveLeaderboardServiceImpl reactiveLeaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveLeaderboardService = new ReactiveLeaderboardServiceImpl(
+                leaderboardService,
+                rankIndexRegistry,
+                reactiveLeaderboardEntryRepository,
+                new LeaderboardMetrics(new SimpleMeterRegistry())
+        );
+    }
+
+    @Test
+    void testGetTopNPlayersJson_shouldServeSnapshotWithoutDatabase() {
+        TopKRankIndex rankIndex = new TopKRankIndex(new SkipListRankIndex(), 10);
+        rankIndex.offer("p1", 100);
+        rankIndex.offer("p2", 200);
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+        when(rankIndexRegistry.findTopK("lb1")).thenReturn(Optional.of(rankIndex));
+
+        StepVerifier.create(reactiveLeaderboardService.getTopNPlayersJson("lb1", 1))
+                .assertNext(json -> assertEquals(
+                        "[{\"playerId\":\"p2\",\"score\":200}]", new String(json, StandardCharsets.UTF_8)))
+                .verifyComplete();
+        verifyNoInteractions(reactiveLeaderboardEntryRepository, leaderboardService);
+    }
+
+    @Test
+    void testGetTopNPlayersJson_invalidN() {
+        StepVerifier.create(reactiveLeaderboardService.getTopNPlayersJson("lb1", -1))
+                .expectErrorMessage("N count is invalid.")
+                .verify();
+        verifyNoInteractions(rankIndexRegistry, reactiveLeaderboardEntryRepository);
+    }
+
+    @Test
+    void testGetNextNPlayers_shouldQueryDatabaseWithoutRankIndex() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(reactiveLeaderboardEntryRepository.findByLeaderboardIdAndPlayerId("lb1", "p2"))
+                .thenReturn(Mono.just(new RankedEntry("p2", 80)));
+        when(reactiveLeaderboardEntryRepository.findNextNPlayers("lb1", 80, "p2", 2))
+                .thenReturn(Flux.just(new RankedEntry("p3", 70), new RankedEntry("p4", 60)));
+
+        StepVerifier.create(reactiveLeaderboardService.getNextNPlayers("lb1", "p2", 2)
+                        .map(LeaderboardEntryResponse::getPlayerId))
+                .expectNext("p3", "p4")
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetPrevNPlayers_shouldReturnDatabaseRowsInRankingOrder() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(reactiveLeaderboardEntryRepository.findByLeaderboardIdAndPlayerId("lb1", "p3"))
+                .thenReturn(Mono.just(new RankedEntry("p3", 70)));
+        when(reactiveLeaderboardEntryRepository.findPrevNPlayers("lb1", 70, "p3", 2))
+                .thenReturn(Flux.just(new RankedEntry("p2", 80), new RankedEntry("p1", 90)));
+
+        StepVerifier.create(reactiveLeaderboardService.getPrevNPlayers("lb1", "p3", 2)
+                        .map(LeaderboardEntryResponse::getPlayerId))
+                .expectNext("p1", "p2")
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetNextNPlayers_playerNotFound() {
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.empty());
+        when(reactiveLeaderboardEntryRepository.findByLeaderboardIdAndPlayerId("lb1", "p404")).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveLeaderboardService.getNextNPlayers("lb1", "p404", 2))
+                .expectErrorMessage("Player not found in leaderboard.")
+                .verify();
+    }
+
+    @Test
+    void testGetLeaderboardPage_shouldReturnCursorWhenMoreEntriesFollow() {
+        SkipListRankIndex rankIndex = new SkipListRankIndex();
+        rankIndex.offer("p1", 90);
+        rankIndex.offer("p2", 80);
+        rankIndex.offer("p3", 70);
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(false);
+        when(rankIndexRegistry.find("lb1")).thenReturn(Optional.of(rankIndex));
+
+        LeaderboardPageResponse page = reactiveLeaderboardService.getLeaderboardPage("lb1", 2, null).block();
+
+        assertEquals(List.of("p1", "p2"), page.getScores().stream().map(LeaderboardEntryResponse::getPlayerId).toList());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetPlayerRank_shouldDelegateSealedLeaderboardToBlockingService() {
+        PlayerRankResponse archived = PlayerRankResponse.builder().playerId("p5").score(50).rank(5).build();
+        when(rankIndexRegistry.isSealed("lb1")).thenReturn(true);
+        when(leaderboardService.getPlayerRank("lb1", "p5")).thenReturn(archived);
+
+        StepVerifier.create(reactiveLeaderboardService.getPlayerRank("lb1", "p5"))
+                .expectNext(archived)
+                .verifyComplete();
+        verify(rankIndexRegistry, never()).find("lb1");
+    }
+
+    @Test
+    void testGetLeaderboardJson_unknownLeaderboard() {
+        when(rankIndexRegistry.isSealed("lb404")).thenReturn(false);
+        when(rankIndexRegistry.find("lb404")).thenReturn(Optional.empty());
+        when(reactiveLeaderboardEntryRepository.existsLeaderboard("lb404")).thenReturn(Mono.just(false));
+        when(reactiveLeaderboardEntryRepository.findByLeaderboardIdOrderByScoreDesc("lb404")).thenReturn(Flux.empty());
+
+        StepVerifier.create(reactiveLeaderboardService.getLeaderboardJson("lb404"))
+                .expectErrorMessage("No leaderboard found for given id.")
+                .verify();
+    }
+
+}
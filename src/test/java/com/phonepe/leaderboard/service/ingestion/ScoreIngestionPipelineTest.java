@@ -0,0 +1,114 @@
+package com.phonepe.leaderboard.service.ingestion;
+
+import com.phonepe.leaderboard.config.IngestionProperties;
+import com.phonepe.leaderboard.data.model.ScoreUpdate;
+import com.phonepe.leaderboard.repository.LeaderboardEntryBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScoreIngestionPipelineTest {
+
+    @Mock
+    private LeaderboardEntryBatchRepository leaderboardEntryBatchRepository;
+
+    private ScoreIngestionPipeline pipeline(int queueCapacity, int batchSize) {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setMode(IngestionProperties.Mode.WRITE_BEHIND);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMs(60_000);
+        return new ScoreIngestionPipeline(leaderboardEntryBatchRepository, properties, TransactionOperations.withoutTransaction());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_shouldCoalesceSubmissionsKeepingMaxScore() {
+        ScoreIngestionPipeline pipeline = pipeline(100, 100);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any())).thenReturn(new int[]{1, 1});
+
+        CompletableFuture<Boolean> first = pipeline.enqueue("lb1", "p1", 100);
+        CompletableFuture<Boolean> second = pipeline.enqueue("lb1", "p1", 300);
+        CompletableFuture<Boolean> third = pipeline.enqueue("lb1", "p1", 200);
+        pipeline.enqueue("lb1", "p2", 50);
+
+        pipeline.flush();
+
+        ArgumentCaptor<List<ScoreUpdate>> captor = ArgumentCaptor.forClass(List.class);
+        verify(leaderboardEntryBatchRepository, times(1)).upsertIfHigher(captor.capture());
+        assertEquals(
+                new HashSet<>(List.of(new ScoreUpdate("lb1", "p1", 300), new ScoreUpdate("lb1", "p2", 50))),
+                new HashSet<>(captor.getValue())
+        );
+        assertFalse(first.join());
+        assertTrue(second.join());
+        assertFalse(third.join());
+    }
+
+    @Test
+    void testFlush_shouldOnlyReportUpdateForSubmissionHoldingMaxScore() {
+        ScoreIngestionPipeline pipeline = pipeline(100, 100);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(List.of(new ScoreUpdate("lb1", "p1", 100))))
+                .thenReturn(new int[]{1});
+
+        CompletableFuture<Boolean> higher = pipeline.enqueue("lb1", "p1", 100);
+        CompletableFuture<Boolean> lower = pipeline.enqueue("lb1", "p1", 90);
+
+        assertFalse(lower.join()); // known as soon as it is merged away
+        assertFalse(higher.isDone());
+
+        pipeline.flush();
+
+        assertTrue(higher.join());
+    }
+
+    @Test
+    void testFlush_shouldReportNotWrittenWhenDatabaseIgnoredRow() {
+        ScoreIngestionPipeline pipeline = pipeline(100, 100);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any())).thenReturn(new int[]{0});
+
+        CompletableFuture<Boolean> ack = pipeline.enqueue("lb1", "p1", 100);
+        pipeline.flush();
+
+        assertFalse(ack.join());
+    }
+
+    @Test
+    void testEnqueue_shouldRejectWhenQueueIsFull() {
+        ScoreIngestionPipeline pipeline = pipeline(1, 100);
+
+        pipeline.enqueue("lb1", "p1", 100);
+        pipeline.enqueue("lb1", "p1", 200); // coalesced, needs no extra capacity
+
+        try {
+            pipeline.enqueue("lb1", "p2", 100);
+            fail("Expected queue full exception");
+        } catch (RuntimeException rte) {
+            assertEquals("Score ingestion queue is full.", rte.getMessage());
+        }
+    }
+
+    @Test
+    void testFlush_shouldFailAcknowledgementsWhenWriteFails() {
+        ScoreIngestionPipeline pipeline = pipeline(100, 100);
+        when(leaderboardEntryBatchRepository.upsertIfHigher(any())).thenThrow(new RuntimeException("db down"));
+
+        CompletableFuture<Boolean> ack = pipeline.enqueue("lb1", "p1", 100);
+        pipeline.flush();
+
+        assertTrue(ack.isCompletedExceptionally());
+    }
+
+}
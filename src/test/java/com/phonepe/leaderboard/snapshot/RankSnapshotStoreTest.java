@@ -0,0 +1,118 @@
+package com.phonepe.leaderboard.snapshot;
+
+import com.phonepe.leaderboard.config.SnapshotProperties;
+import com.phonepe.leaderboard.data.model.Leaderboard;
+import com.phonepe.leaderboard.ranking.RankIndex;
+import com.phonepe.leaderboard.ranking.SkipListRankIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private RankSnapshotStore rankSnapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        SnapshotProperties properties = new SnapshotProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setRetained(2);
+        rankSnapshotStore = new RankSnapshotStore(properties);
+    }
+
+    @Test
+    void testRestoreLatest_shouldLoadEveryBoardInRankingOrder() throws Exception {
+        Leaderboard large = new Leaderboard("lb1", "game1", 1_000, 2_000);
+        Leaderboard empty = new Leaderboard("lb2", "game1", 3_000, Long.MAX_VALUE);
+        RankIndex largeIndex = new SkipListRankIndex();
+        for (int i = 0; i < 150_000; i++) { // spans several blocks
+            largeIndex.offer("player-" + i, i % 977);
+        }
+        rankSnapshotStore.write(5_000, List.of(
+                new RankSnapshotStore.Board(large, largeIndex),
+                new RankSnapshotStore.Board(empty, new SkipListRankIndex())
+        ));
+
+        Map<Leaderboard, RankIndex> restored = new HashMap<>();
+        OptionalLong takenAt = rankSnapshotStore.restoreLatest((leaderboard, entries) -> {
+            RankIndex index = new SkipListRankIndex();
+            index.loadSorted(entries);
+            restored.put(leaderboard, index);
+        });
+
+        assertEquals(OptionalLong.of(5_000), takenAt);
+        assertEquals(2, restored.size());
+        assertEquals(largeIndex.size(), restored.get(large).size());
+        assertEquals(largeIndex.top(150_000), restored.get(large).top(150_000));
+        assertEquals(0, restored.get(empty).size());
+    }
+
+    @Test
+    void testRestoreLatest_shouldSkipEntriesTheLoaderDoesNotRead() throws Exception {
+        RankIndex first = new SkipListRankIndex();
+        first.offer("p1", 10);
+        first.offer("p2", 20);
+        RankIndex second = new SkipListRankIndex();
+        second.offer("p3", 30);
+        rankSnapshotStore.write(5_000, List.of(
+                new RankSnapshotStore.Board(new Leaderboard("lb1", "game1", 0, 1), first),
+                new RankSnapshotStore.Board(new Leaderboard("lb2", "game1", 0, 1), second)
+        ));
+
+        Map<String, Integer> sizes = new HashMap<>();
+        rankSnapshotStore.restoreLatest((leaderboard, entries) -> sizes.put(leaderboard.getId(), entries.hasNext() ? 1 : 0));
+
+        assertEquals(Map.of("lb1", 1, "lb2", 1), sizes);
+    }
+
+    @Test
+    void testRestoreLatest_shouldReturnEmptyWithoutSnapshot() throws Exception {
+        assertTrue(rankSnapshotStore.restoreLatest((leaderboard, entries) -> fail()).isEmpty());
+    }
+
+    @Test
+    void testWrite_shouldKeepOnlyRetainedSnapshots() throws Exception {
+        RankIndex index = new SkipListRankIndex();
+        index.offer("p1", 10);
+        Leaderboard leaderboard = new Leaderboard("lb1", "game1", 0, 1);
+        for (long takenAt = 1; takenAt <= 4; takenAt++) {
+            index.offer("p1", (int) takenAt * 10);
+            rankSnapshotStore.write(takenAt, List.of(new RankSnapshotStore.Board(leaderboard, index)));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+        assertEquals(OptionalLong.of(4), rankSnapshotStore.restoreLatest((restored, entries) ->
+                assertEquals(40, entries.next().score())));
+    }
+
+    @Test
+    void testOldestTakenAt_shouldReturnOldestRetainedSnapshot() throws Exception {
+        assertTrue(rankSnapshotStore.oldestTakenAt().isEmpty());
+
+        RankIndex index = new SkipListRankIndex();
+        index.offer("p1", 10);
+        Leaderboard leaderboard = new Leaderboard("lb1", "game1", 0, 1);
+        for (long takenAt = 1_000; takenAt <= 3_000; takenAt += 1_000) {
+            rankSnapshotStore.write(takenAt, List.of(new RankSnapshotStore.Board(leaderboard, index)));
+        }
+
+        assertEquals(OptionalLong.of(2_000), rankSnapshotStore.oldestTakenAt());
+    }
+
+}